@@ -0,0 +1,71 @@
+package com.store.management.tool.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.store.management.tool.domain.Order;
+import com.store.management.tool.dto.OrderProductResponse;
+import com.store.management.tool.dto.OrderResponse;
+import com.store.management.tool.utils.Status;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of an order with its products: writing the response body and reading a request body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class OrderJsonBenchmark {
+
+    @Param({"5", "50"})
+    public int lines;
+
+    private ObjectMapper objectMapper;
+    private OrderResponse response;
+    private byte[] request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<OrderProductResponse> products = new ArrayList<>(lines);
+        StringBuilder requestProducts = new StringBuilder();
+        for (long id = 1; id <= lines; id++) {
+            products.add(new OrderProductResponse(id, "vintage oak chair " + id, "A vintage oak chair from the rustic collection",
+                    new BigDecimal("149.99"), 2));
+            requestProducts.append(id > 1 ? "," : "").append("{\"id\":").append(id).append(",\"quantity\":2}");
+        }
+        response = new OrderResponse(1L, 0L, 1L, LocalDate.of(2024, 3, 24), Status.NEW, new BigDecimal("299.98").multiply(BigDecimal.valueOf(lines)), products);
+        request = ("{\"idUser\":1,\"orderDate\":\"2024-03-24\",\"status\":\"NEW\",\"products\":[" + requestProducts + "]}").getBytes();
+    }
+
+    @Benchmark
+    public byte[] writeOrderResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public Order readOrderRequest() throws IOException {
+        return objectMapper.readValue(request, Order.class);
+    }
+}
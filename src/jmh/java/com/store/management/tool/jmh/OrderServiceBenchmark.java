@@ -0,0 +1,36 @@
+package com.store.management.tool.jmh;
+
+import com.store.management.tool.domain.Order;
+import com.store.management.tool.exception.ResourceNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Places single orders through {@code OrderService.add}: user lookup, stock reservation, line pricing and insert.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class OrderServiceBenchmark {
+
+    @Param({"1", "10"})
+    public int lines;
+
+    @Benchmark
+    public Order add(StoreState store) throws ResourceNotFoundException {
+        return store.orderService.add(store.newOrder(lines));
+    }
+}
@@ -0,0 +1,64 @@
+package com.store.management.tool.jmh;
+
+import com.store.management.tool.config.PasswordHashingProperties;
+import com.store.management.tool.service.PasswordHashingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashing a new password and re-checking an unchanged one, as done when users are created and updated.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({"10"})
+    public int strength;
+
+    private PasswordHashingService passwordHashingService;
+    private String storedHash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setBcryptStrength(strength);
+        passwordHashingService = new PasswordHashingService(new BCryptPasswordEncoder(strength), properties, new SimpleMeterRegistry());
+        storedHash = passwordHashingService.hash(PASSWORD);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        passwordHashingService.shutdown();
+    }
+
+    @Benchmark
+    public String hash() {
+        return passwordHashingService.hash(PASSWORD);
+    }
+
+    @Benchmark
+    public String hashIfUnchanged() {
+        return passwordHashingService.hashIfChanged(PASSWORD, storedHash);
+    }
+}
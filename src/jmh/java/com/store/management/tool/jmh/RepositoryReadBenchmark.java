@@ -0,0 +1,58 @@
+package com.store.management.tool.jmh;
+
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.dto.CursorPage;
+import com.store.management.tool.dto.OrderResponse;
+import com.store.management.tool.dto.SalesReport;
+import com.store.management.tool.exception.ResourceNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths against the seeded database: cursor pages of products and orders, a single order with its lines
+ * and a monthly sales report.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class RepositoryReadBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Benchmark
+    public CursorPage<Product> productPage(StoreState store) {
+        return store.productService.getAll(randomId(store.productIds), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPage<OrderResponse> orderPage(StoreState store) {
+        return store.orderService.getAll(randomId(store.orderIds), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public OrderResponse orderById(StoreState store) throws ResourceNotFoundException {
+        return store.orderService.getById(randomId(store.orderIds));
+    }
+
+    @Benchmark
+    public SalesReport monthlySalesReport(StoreState store) {
+        int month = ThreadLocalRandom.current().nextInt(12);
+        return store.salesReportService.getSales(StoreState.FIRST_ORDER_DATE.plusMonths(month),
+                StoreState.FIRST_ORDER_DATE.plusMonths(month + 1).minusDays(1), 10);
+    }
+
+    private static Long randomId(List<Long> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
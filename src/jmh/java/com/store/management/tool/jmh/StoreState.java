@@ -0,0 +1,149 @@
+package com.store.management.tool.jmh;
+
+import com.store.management.tool.StoreManagementApplication;
+import com.store.management.tool.domain.Order;
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.domain.User;
+import com.store.management.tool.dto.OrderBatchResult;
+import com.store.management.tool.repository.ProductRepository;
+import com.store.management.tool.repository.UserRepository;
+import com.store.management.tool.service.OrderService;
+import com.store.management.tool.service.ProductService;
+import com.store.management.tool.service.SalesReportService;
+import com.store.management.tool.utils.Status;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Runs the application against an embedded H2 database seeded with users, a catalog and a year of orders.
+ */
+@State(Scope.Benchmark)
+public class StoreState {
+
+    static final LocalDate FIRST_ORDER_DATE = LocalDate.of(2023, 1, 1);
+    private static final int USERS = 1_000;
+    private static final int PRODUCTS = 10_000;
+    private static final int ORDERS = 20_000;
+    private static final int CHUNK_SIZE = 500;
+    // Password is 0000, same as the seeded accounts.
+    private static final String PASSWORD_HASH = "$2a$10$l3CxMDwmVqpCxPV1B5V5x.B7a6Aepu90H8UVpCN.lAvK6vT5TlorO";
+    private static final String[] ADJECTIVES = {"red", "blue", "oak", "steel", "compact", "deluxe", "vintage", "modern",
+            "rustic", "portable", "silent", "smart"};
+    private static final String[] NOUNS = {"chair", "table", "lamp", "desk", "shelf", "sofa", "mirror", "cabinet",
+            "stool", "bench", "clock", "drawer"};
+
+    ConfigurableApplicationContext context;
+    OrderService orderService;
+    ProductService productService;
+    SalesReportService salesReportService;
+    List<Long> userIds;
+    List<Long> productIds;
+    List<Long> orderIds;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(StoreManagementApplication.class)
+                .properties("server.port=0", "spring.datasource.url=jdbc:h2:mem:jmh", "logging.level.root=WARN")
+                .run();
+        orderService = context.getBean(OrderService.class);
+        productService = context.getBean(ProductService.class);
+        salesReportService = context.getBean(SalesReportService.class);
+
+        Random random = new Random(42);
+        userIds = seedUsers(context.getBean(UserRepository.class));
+        productIds = seedProducts(context.getBean(ProductRepository.class), random);
+        orderIds = seedOrders(random);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    Order newOrder(int lines) {
+        return newOrder(lines, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Seeding passes its own seeded generator, so every trial starts from the same orders.
+     */
+    private Order newOrder(int lines, Random random) {
+        Order order = new Order();
+
+        order.setIdUser(userIds.get(random.nextInt(userIds.size())));
+        order.setOrderDate(FIRST_ORDER_DATE.plusDays(random.nextInt(365)));
+        order.setStatus(Status.NEW);
+        Set<Product> products = new HashSet<>();
+        while (products.size() < lines) {
+            Product product = new Product();
+            product.setId(productIds.get(random.nextInt(productIds.size())));
+            product.setQuantity(1 + random.nextInt(3));
+            products.add(product);
+        }
+        order.setProducts(products);
+
+        return order;
+    }
+
+    private List<Long> seedUsers(UserRepository userRepository) {
+        List<User> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setEmail("customer" + i + "@example.com");
+            user.setPassword(PASSWORD_HASH);
+            user.setFirstName("Customer");
+            user.setLastName(String.valueOf(i));
+            user.setPhoneNumber(String.format("07%08d", i));
+            users.add(user);
+        }
+        return userRepository.saveAll(users).stream().map(User::getId).toList();
+    }
+
+    private List<Long> seedProducts(ProductRepository productRepository, Random random) {
+        List<Long> ids = new ArrayList<>(PRODUCTS);
+        for (int chunk = 0; chunk < PRODUCTS; chunk += CHUNK_SIZE) {
+            List<Product> products = new ArrayList<>(CHUNK_SIZE);
+            for (int i = chunk; i < chunk + CHUNK_SIZE; i++) {
+                Product product = new Product();
+                String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+                String noun = NOUNS[random.nextInt(NOUNS.length)];
+                product.setName(adjective + " " + noun + " " + i);
+                product.setDescription("A " + adjective + " " + noun + " from the " + ADJECTIVES[random.nextInt(ADJECTIVES.length)]
+                        + " collection, model " + i + ".");
+                product.setPrice(BigDecimal.valueOf(100 + random.nextInt(50_000), 2));
+                product.setQuantity(10_000_000);
+                products.add(product);
+            }
+            productRepository.saveAll(products).forEach(product -> ids.add(product.getId()));
+        }
+        return ids;
+    }
+
+    private List<Long> seedOrders(Random random) {
+        List<Long> ids = new ArrayList<>(ORDERS);
+        for (int chunk = 0; chunk < ORDERS; chunk += CHUNK_SIZE) {
+            List<Order> orders = new ArrayList<>(CHUNK_SIZE);
+            for (int i = 0; i < CHUNK_SIZE; i++) {
+                orders.add(newOrder(1 + random.nextInt(5), random));
+            }
+            orderService.addBatch(orders).stream()
+                    .map(OrderBatchResult::getOrderId)
+                    .forEach(ids::add);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,16 @@
+package com.store.management.tool.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caches are backed by Caffeine and sized through {@code spring.cache.caffeine.spec}. Hit, miss and
+ * eviction counts are published as {@code cache.*} metrics.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String PRODUCTS = "products";
+    public static final String USERS = "users";
+    public static final String IDEMPOTENCY_KEYS = "idempotency-keys";
+}
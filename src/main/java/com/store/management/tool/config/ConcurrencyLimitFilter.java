@@ -0,0 +1,156 @@
+package com.store.management.tool.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admits at most a fixed number of API requests at once, sized from the connection pool, and turns the rest
+ * away with 503 once they have waited {@code store.threading.acquire-timeout}. Runs before security so shed
+ * requests do no authentication work.
+ */
+@Component
+@ConditionalOnProperty(prefix = "store.threading", name = "limit-concurrency", havingValue = "true")
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+    private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitFilter.class.getName() + ".PERMIT";
+
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+    private final Counter rejected;
+
+    public ConcurrencyLimitFilter(ThreadingProperties properties, DataSource dataSource, MeterRegistry meterRegistry) {
+        int maxConcurrentRequests = properties.getMaxConcurrentRequests() > 0
+                ? properties.getMaxConcurrentRequests()
+                : 2 * poolSize(dataSource);
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.acquireTimeoutNanos = properties.getAcquireTimeout().toNanos();
+
+        Gauge.builder("http.server.requests.permits.available", permits, Semaphore::availablePermits)
+                .description("API requests that can still be admitted")
+                .register(meterRegistry);
+        Gauge.builder("http.server.requests.permits.waiting", permits, Semaphore::getQueueLength)
+                .description("API requests waiting to be admitted")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("http.server.requests.shed")
+                .description("API requests turned away because no permit became available in time")
+                .register(meterRegistry);
+        log.info("Limiting concurrent API requests to {}.", maxConcurrentRequests);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    /**
+     * Streaming and deferred responses keep working after the first dispatch returns, so their permit is held
+     * until the async request completes; the async dispatch passes through with the permit already taken.
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Permit permit = (Permit) request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit == null) {
+            if (!acquire()) {
+                rejected.increment();
+                // written directly: an error dispatch would run the security chain and the rest of the stack again
+                response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+                response.getWriter().write("Too many concurrent requests. Please retry.");
+                return;
+            }
+            permit = new Permit();
+            request.setAttribute(PERMIT_ATTRIBUTE, permit);
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // the container drops listeners when async is started again, so each dispatch registers anew
+                request.getAsyncContext().addListener(permit);
+            } else {
+                permit.release();
+            }
+        }
+    }
+
+    private boolean acquire() {
+        try {
+            return permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        // Hikari leaves the size unset until the pool starts, and then applies its own default
+        if (dataSource instanceof HikariDataSource hikari && hikari.getMaximumPoolSize() > 0) {
+            return hikari.getMaximumPoolSize();
+        }
+        return DEFAULT_POOL_SIZE;
+    }
+
+    /**
+     * The permit of one request, given back once whether the request ends on a dispatch or on async completion.
+     */
+    private class Permit implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
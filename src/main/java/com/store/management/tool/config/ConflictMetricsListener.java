@@ -0,0 +1,34 @@
+package com.store.management.tool.config;
+
+import com.store.management.tool.service.StockMetrics;
+import lombok.AllArgsConstructor;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the conflicts seen by {@link RetryOnConflict} methods. Retry picks up every {@link RetryListener}
+ * bean for annotations that do not name their own listeners.
+ */
+@Component
+@AllArgsConstructor
+public class ConflictMetricsListener implements RetryListener {
+
+    private final StockMetrics stockMetrics;
+
+    @Override
+    public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+        if (throwable instanceof ConcurrencyFailureException) {
+            stockMetrics.conflict();
+        }
+    }
+
+    @Override
+    public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+        if (throwable instanceof ConcurrencyFailureException) {
+            stockMetrics.conflictExhausted();
+        }
+    }
+}
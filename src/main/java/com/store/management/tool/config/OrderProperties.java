@@ -0,0 +1,57 @@
+package com.store.management.tool.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "store.orders")
+@Getter
+@Setter
+public class OrderProperties {
+    private Batch batch = new Batch();
+    private Idempotency idempotency = new Idempotency();
+    private Async async = new Async();
+
+    @Getter
+    @Setter
+    public static class Batch {
+        /**
+         * Number of orders placed per transaction by the bulk ingestion endpoint.
+         */
+        private int chunkSize = 500;
+    }
+
+    @Getter
+    @Setter
+    public static class Idempotency {
+        /**
+         * How long a used {@code Idempotency-Key} replays the order it created.
+         */
+        private Duration retention = Duration.ofHours(24);
+        /**
+         * Delay between purges of expired keys, as an ISO-8601 duration.
+         */
+        private Duration purgeInterval = Duration.ofHours(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Async {
+        /**
+         * Orders waiting for the writer. When the buffer is full, new orders are turned away with 503.
+         */
+        private int queueCapacity = 10_000;
+        /**
+         * Maximum number of orders placed per transaction by the writer.
+         */
+        private int batchSize = 200;
+        /**
+         * How long the outcome of an accepted order can be looked up.
+         */
+        private Duration ticketRetention = Duration.ofHours(1);
+    }
+}
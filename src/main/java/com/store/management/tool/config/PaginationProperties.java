@@ -0,0 +1,25 @@
+package com.store.management.tool.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "store.pagination")
+@Getter
+@Setter
+public class PaginationProperties {
+    private int defaultSize = 50;
+    private int maxSize = 500;
+
+    public int resolve(Integer size) {
+        if (size == null) {
+            return defaultSize;
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be greater than 0");
+        }
+        return Math.min(size, maxSize);
+    }
+}
@@ -0,0 +1,22 @@
+package com.store.management.tool.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "store.security.password")
+@Getter
+@Setter
+public class PasswordHashingProperties {
+    /**
+     * BCrypt cost factor. Stored hashes with a lower cost are upgraded on the next successful login.
+     */
+    private int bcryptStrength = 10;
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private int queueCapacity = 64;
+    private Duration timeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,85 @@
+package com.store.management.tool.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streams the JFR {@code jdk.VirtualThreadPinned} event while virtual threads are enabled. Every pinning
+ * longer than the threshold is timed per pinning frame, the first application frame below the JDK frames,
+ * and the first occurrence of each frame is logged with its stack.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class PinnedThreadMonitor {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final MeterRegistry meterRegistry;
+    private final RecordingStream stream;
+    private final Set<String> reportedFrames = ConcurrentHashMap.newKeySet();
+
+    public PinnedThreadMonitor(ThreadingProperties properties, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.stream = new RecordingStream();
+        this.stream.enable(PINNED_EVENT).withThreshold(properties.getPinnedThreshold()).withStackTrace();
+        this.stream.onEvent(PINNED_EVENT, this::onPinned);
+        this.stream.startAsync();
+        log.info("Reporting virtual threads pinned for more than {}.", properties.getPinnedThreshold());
+    }
+
+    @PreDestroy
+    public void close() {
+        stream.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        String frame = pinningFrame(stackTrace);
+        Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent pinned to their carrier thread")
+                .tag("frame", frame)
+                .register(meterRegistry)
+                .record(event.getDuration());
+
+        if (reportedFrames.add(frame)) {
+            log.warn("Virtual thread pinned for {} ms at {}:{}", event.getDuration().toMillis(), frame, format(stackTrace));
+        }
+    }
+
+    private static String pinningFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName();
+            }
+        }
+        return "jdk";
+    }
+
+    private static String format(RecordedStackTrace stackTrace) {
+        StringBuilder frames = new StringBuilder();
+        if (stackTrace != null) {
+            stackTrace.getFrames().stream().limit(LOGGED_FRAMES).forEach(frame -> frames.append("\n\tat ")
+                    .append(frame.getMethod().getType().getName()).append('.').append(frame.getMethod().getName())
+                    .append(':').append(frame.getLineNumber()));
+        }
+        return frames.toString();
+    }
+}
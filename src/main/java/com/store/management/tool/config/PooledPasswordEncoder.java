@@ -0,0 +1,31 @@
+package com.store.management.tool.config;
+
+import com.store.management.tool.service.PasswordHashingService;
+import lombok.AllArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Hands encoding and verification to {@link PasswordHashingService}, so callers block on its bounded pool
+ * instead of running BCrypt themselves. Only the cheap cost check stays on the calling thread.
+ */
+@AllArgsConstructor
+public class PooledPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return passwordHashingService.hash(rawPassword == null ? null : rawPassword.toString());
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return passwordHashingService.matches(rawPassword == null ? null : rawPassword.toString(), encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+}
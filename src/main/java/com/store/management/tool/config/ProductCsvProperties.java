@@ -0,0 +1,17 @@
+package com.store.management.tool.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "store.products.csv")
+@Getter
+@Setter
+public class ProductCsvProperties {
+    /**
+     * Number of imported rows written per transaction.
+     */
+    private int chunkSize = 500;
+}
@@ -0,0 +1,13 @@
+package com.store.management.tool.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.retry.annotation.EnableRetry;
+
+/**
+ * Retry advice is ordered before the transaction advice, so every attempt of a {@code @Retryable}
+ * transactional method runs in a fresh transaction.
+ */
+@Configuration
+@EnableRetry
+public class RetryConfig {
+}
@@ -0,0 +1,26 @@
+package com.store.management.tool.config;
+
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Retries a transactional method with bounded, jittered exponential backoff when it loses a lock
+ * or deadlocks against a concurrent transaction.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Retryable(retryFor = ConcurrencyFailureException.class,
+        maxAttemptsExpression = "${store.orders.retry.max-attempts:4}",
+        backoff = @Backoff(delayExpression = "${store.orders.retry.delay-ms:20}",
+                maxDelayExpression = "${store.orders.retry.max-delay-ms:200}",
+                multiplier = 2, random = true))
+public @interface RetryOnConflict {
+}
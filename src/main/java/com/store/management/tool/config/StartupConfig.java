@@ -0,0 +1,23 @@
+package com.store.management.tool.config;
+
+import com.store.management.tool.service.AsyncOrderService;
+import com.store.management.tool.service.IdempotencyService;
+import com.store.management.tool.service.StockJournal;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Beans that work in the background are still created at startup when the "startup" profile turns on lazy
+     * initialisation: scheduled jobs would not be scheduled, writer threads and their gauges would not exist
+     * until first use, and the pinning monitor would miss events.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter backgroundBeansExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(IdempotencyService.class, StockJournal.class,
+                AsyncOrderService.class, PinnedThreadMonitor.class);
+    }
+}
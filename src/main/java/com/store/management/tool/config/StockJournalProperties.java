@@ -0,0 +1,27 @@
+package com.store.management.tool.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "store.stock.journal")
+@Getter
+@Setter
+public class StockJournalProperties {
+    /**
+     * Maximum number of movements inserted per transaction by the journal writer.
+     */
+    private int batchSize = 500;
+    /**
+     * Movements waiting for the writer. When the queue is full, the committing thread writes its own movements.
+     */
+    private int queueCapacity = 10_000;
+    /**
+     * How long a stock report waits for the movements enqueued before it to be written before answering 503.
+     */
+    private Duration flushTimeout = Duration.ofSeconds(5);
+}
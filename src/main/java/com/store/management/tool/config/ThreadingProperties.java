@@ -0,0 +1,34 @@
+package com.store.management.tool.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "store.threading")
+@Getter
+@Setter
+public class ThreadingProperties {
+    /**
+     * Virtual threads pinned to their carrier for at least this long are reported.
+     */
+    private Duration pinnedThreshold = Duration.ofMillis(20);
+    /**
+     * Caps concurrent API requests. Platform threads are already capped by the Tomcat pool, but virtual
+     * threads are not, and every request beyond what the connection pool can serve would only queue inside
+     * Hikari until its connection timeout.
+     */
+    private boolean limitConcurrency = false;
+    /**
+     * Permits of the request limiter. A request holds a connection only part of the time, so a good start is
+     * the pool size times (1 + time outside the database / time in it); 0 means twice the Hikari pool size.
+     */
+    private int maxConcurrentRequests = 0;
+    /**
+     * How long a request waits for a permit before it is turned away with 503.
+     */
+    private Duration acquireTimeout = Duration.ofSeconds(1);
+}
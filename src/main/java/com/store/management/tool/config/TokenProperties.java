@@ -0,0 +1,65 @@
+package com.store.management.tool.config;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+@Component
+@ConfigurationProperties(prefix = "store.security.token")
+@Getter
+@Setter
+@Slf4j
+public class TokenProperties implements InitializingBean {
+
+    private static final int MIN_SECRET_BYTES = 32;
+
+    /**
+     * Base64 encoded HMAC-SHA256 key, at least 256 bits long. When it is not set, a random key is generated
+     * on every start, so tokens do not survive a restart and are not accepted by other instances.
+     */
+    private String secret;
+    private Duration ttl = Duration.ofMinutes(15);
+    private String issuer = "store-management-tool";
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private SecretKey secretKey;
+
+    /**
+     * @throws IllegalStateException when the configured secret is not Base64 or shorter than 256 bits
+     */
+    @Override
+    public void afterPropertiesSet() {
+        byte[] key;
+        if (secret == null || secret.isBlank()) {
+            key = new byte[MIN_SECRET_BYTES];
+            new SecureRandom().nextBytes(key);
+            log.warn("store.security.token.secret is not set, signing tokens with a random key for this run only.");
+        } else {
+            try {
+                key = Base64.getDecoder().decode(secret.trim());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("store.security.token.secret must be Base64 encoded", e);
+            }
+            if (key.length < MIN_SECRET_BYTES) {
+                throw new IllegalStateException(String.format(
+                        "store.security.token.secret must be at least %d bits, got %d", MIN_SECRET_BYTES * 8, key.length * 8));
+            }
+        }
+        secretKey = new SecretKeySpec(key, "HmacSHA256");
+    }
+
+    public SecretKey secretKey() {
+        return secretKey;
+    }
+}
@@ -3,26 +3,50 @@ package com.store.management.tool.config;
 import com.store.management.tool.domain.User;
 import com.store.management.tool.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import java.util.List;
 
 @Configuration
-public class UserInfoDetailsService implements UserDetailsService {
+public class UserInfoDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         var optionalUser = userRepository.findByEmail(username);
         return optionalUser.map(UserInfoDetailsService::userDetailsInfo).orElseThrow(() -> new UsernameNotFoundException("User doesn't exist"));
     }
 
+    /**
+     * Called after a successful login when the stored hash uses a weaker BCrypt cost than configured.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        userRepository.findByEmail(userDetails.getUsername()).ifPresent(user -> {
+            user.setPassword(newPassword);
+            userRepository.save(user);
+            Cache cache = cacheManager.getCache(CacheConfig.USERS);
+            if (cache != null) {
+                cache.evict(user.getId());
+            }
+        });
+        var userInfoDetails = (UserInfoDetails) userDetails;
+        userInfoDetails.setPassword(newPassword);
+        return userInfoDetails;
+    }
+
     private static UserInfoDetails userDetailsInfo(User user) {
         var userInfoDetails = new UserInfoDetails();
         userInfoDetails.setEmail(user.getEmail());
@@ -1,14 +1,41 @@
 package com.store.management.tool.controller;
 
+import com.store.management.tool.config.PaginationProperties;
 import com.store.management.tool.domain.Order;
+import com.store.management.tool.dto.CursorPage;
+import com.store.management.tool.dto.EntityVersion;
+import com.store.management.tool.dto.OrderBatchResult;
+import com.store.management.tool.dto.OrderFilter;
+import com.store.management.tool.dto.OrderResponse;
+import com.store.management.tool.dto.OrderStatusUpdate;
+import com.store.management.tool.dto.OrderStatusUpdateResult;
+import com.store.management.tool.dto.OrderTicket;
+import com.store.management.tool.exception.DuplicateResourceException;
 import com.store.management.tool.exception.ResourceNotFoundException;
+import com.store.management.tool.service.AsyncOrderService;
+import com.store.management.tool.service.IdempotencyService;
+import com.store.management.tool.service.OrderIngestionService;
 import com.store.management.tool.service.OrderService;
+import com.store.management.tool.service.OrderExportService;
+import com.store.management.tool.utils.ETags;
+import com.store.management.tool.utils.Status;
 import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -17,41 +44,163 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderIngestionService orderIngestionService;
+    private final IdempotencyService idempotencyService;
+    private final AsyncOrderService asyncOrderService;
+    private final OrderExportService orderExportService;
+    private final PaginationProperties paginationProperties;
 
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    /**
+     * With an {@code Idempotency-Key}, a retried request gets the order created by the first one instead of
+     * placing it again. Keys are per {@code idUser}; reusing one for a different request answers 422.
+     */
     @PostMapping
-    public ResponseEntity<Order> add(@RequestBody Order product) throws ResourceNotFoundException {
-        Order createdOrder = orderService.add(product);
+    public ResponseEntity<OrderResponse> add(@RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                             @RequestBody Order product) throws ResourceNotFoundException {
+        if (idempotencyKey == null) {
+            Order createdOrder = orderService.add(product);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(OrderResponse.from(createdOrder));
+        }
+
+        String requestHash = IdempotencyService.requestHash(product);
+        Long existingOrderId = idempotencyService.findOrderId(product.getIdUser(), idempotencyKey, requestHash);
+        if (existingOrderId != null) {
+            return replay(existingOrderId);
+        }
+        try {
+            Order createdOrder = orderService.add(product, idempotencyKey);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(OrderResponse.from(createdOrder));
+        } catch (DuplicateResourceException e) {
+            // A concurrent request with the same key committed first.
+            Long orderId = idempotencyService.findOrderId(product.getIdUser(), idempotencyKey, requestHash);
+            if (orderId == null) {
+                throw e;
+            }
+            return replay(orderId);
+        }
+    }
+
+    private ResponseEntity<OrderResponse> replay(Long orderId) throws ResourceNotFoundException {
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(createdOrder);
+                .header(IDEMPOTENT_REPLAYED, "true")
+                .body(orderService.getById(orderId));
+    }
+
+    /**
+     * Accepts the order for placement in the background and answers with a ticket to poll.
+     */
+    @PostMapping("/async")
+    public ResponseEntity<OrderTicket> addAsync(@RequestBody Order order) {
+        OrderTicket ticket = asyncOrderService.submit(order);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/orders/async/" + ticket.getId()))
+                .body(ticket);
     }
 
+    @GetMapping("/async/{ticketId}")
+    public ResponseEntity<OrderTicket> getTicket(@PathVariable String ticketId) {
+        return asyncOrderService.getTicket(ticketId)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, String.format("Order ticket %s not found", ticketId)));
+    }
+
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<List<OrderBatchResult>> addBatch(InputStream orders) throws IOException {
+        List<OrderBatchResult> results = orderIngestionService.ingest(orders);
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
+    /**
+     * Lists orders in id order, optionally filtered by {@code idUser}, {@code status}, an {@code from}/{@code to}
+     * order date range and {@code minSubtotal}/{@code maxSubtotal} bounds.
+     */
     @GetMapping
-    public ResponseEntity<List<Order>> getAll() {
-        List<Order> orders = orderService.getAll();
-        return ResponseEntity.status(orders.isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK)
+    public ResponseEntity<CursorPage<OrderResponse>> getAll(@RequestParam(required = false) Long after,
+                                                            @RequestParam(required = false) Integer size,
+                                                            OrderFilter filter,
+                                                            WebRequest request) {
+        int pageSize = paginationProperties.resolve(size);
+        if (filter.isEmpty() && request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            CursorPage<EntityVersion> versions = orderService.getVersions(after, pageSize);
+            if (request.checkNotModified(ETags.ofPage(versions, EntityVersion::getId, EntityVersion::getVersion))) {
+                return null;
+            }
+        }
+        CursorPage<OrderResponse> orders = filter.isEmpty()
+                ? orderService.getAll(after, pageSize)
+                : orderService.search(filter, after, pageSize);
+        return ResponseEntity.status(orders.getItems().isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK)
+                .eTag(ETags.ofPage(orders, OrderResponse::getId, OrderResponse::getVersion))
+                .cacheControl(CacheControl.noCache())
                 .body(orders);
     }
 
+    /**
+     * Streams every order placed between {@code from} and {@code to} inclusive, optionally with the given status,
+     * as NDJSON ({@code format=ndjson}, the default) or CSV ({@code format=csv}) with chunked transfer.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                        @RequestParam(required = false) Status status) {
+        return switch (format) {
+            case "ndjson" -> ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=orders.ndjson")
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(out -> orderExportService.exportNdjson(from, to, status, out));
+            case "csv" -> ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=orders.csv")
+                    .contentType(MediaType.parseMediaType(TEXT_CSV_VALUE))
+                    .body(out -> orderExportService.exportCsv(from, to, status, out));
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, String.format("Unsupported export format %s", format));
+        };
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Order> getById(@PathVariable Long id) {
+    public ResponseEntity<OrderResponse> getById(@PathVariable Long id) {
         try {
-            Order order = orderService.getById(id);
-            return new ResponseEntity<>(order, HttpStatus.OK);
+            OrderResponse order = orderService.getById(id);
+            return ResponseEntity.ok()
+                    .eTag(ETags.of(order.getVersion()))
+                    .cacheControl(CacheControl.noCache())
+                    .body(order);
         } catch (ResourceNotFoundException e) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
         }
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<String> update(@PathVariable Long id, @RequestBody Order order) {
+    public ResponseEntity<String> update(@PathVariable Long id,
+                                         @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                         @RequestBody Order order) {
         try {
-            orderService.updateOrder(id, order);
-            return new ResponseEntity<>("Order successfully updated", HttpStatus.OK);
+            Order updatedOrder = orderService.updateOrder(id, order, ETags.expectedVersion(ifMatch));
+            return ResponseEntity.ok()
+                    .eTag(ETags.of(updatedOrder.getVersion()))
+                    .body("Order successfully updated");
         } catch (ResourceNotFoundException e) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
         }
     }
 
+    /**
+     * Moves the listed orders, or every order matching the date filter, to the next status in one update and
+     * answers which orders moved and why the others did not. A request without ids needs at least one date bound.
+     */
+    @PatchMapping("/status")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<OrderStatusUpdateResult> updateStatus(@RequestBody OrderStatusUpdate update) {
+        return ResponseEntity.ok(orderService.updateStatus(update));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         try {
@@ -1,23 +1,48 @@
 package com.store.management.tool.controller;
 
+import com.store.management.tool.config.PaginationProperties;
 import com.store.management.tool.domain.Product;
+import com.store.management.tool.dto.CursorPage;
+import com.store.management.tool.dto.EntityVersion;
+import com.store.management.tool.dto.ProductImportResult;
+import com.store.management.tool.dto.SearchPage;
 import com.store.management.tool.exception.ResourceNotFoundException;
+import com.store.management.tool.service.ProductCatalog;
+import com.store.management.tool.service.ProductCatalogSnapshot;
+import com.store.management.tool.service.ProductCsvService;
+import com.store.management.tool.service.ProductSearchService;
 import com.store.management.tool.service.ProductService;
+import com.store.management.tool.utils.AcceptEncoding;
+import com.store.management.tool.utils.ETags;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
 
 @RestController
 @AllArgsConstructor
 @RequestMapping("/api/products")
 public class ProductController {
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final String GZIP = "gzip";
+
     private final ProductService productService;
+    private final ProductCsvService productCsvService;
+    private final ProductSearchService productSearchService;
+    private final ProductCatalog productCatalog;
+    private final PaginationProperties paginationProperties;
 
     @PostMapping
     @PreAuthorize("hasAuthority('ADMIN')")
@@ -27,18 +52,82 @@ public class ProductController {
                 .body(createdProduct);
     }
 
+    /**
+     * Served from the pre-encoded catalog snapshot while it is up to date. Otherwise a client revalidating
+     * with {@code If-None-Match} is answered from the page's ids and versions alone, without loading the
+     * products. Every answer varies by {@code Accept-Encoding}, since the snapshot may send the same URL gzipped.
+     */
     @GetMapping
-    public ResponseEntity<List<Product>> getAll() {
-        List<Product> products = productService.getAll();
-        return ResponseEntity.status(products.isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK)
+    public ResponseEntity<?> getAll(@RequestParam(required = false) Long after,
+                                    @RequestParam(required = false) Integer size,
+                                    WebRequest request, HttpServletResponse servletResponse) {
+        servletResponse.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        int pageSize = paginationProperties.resolve(size);
+        ProductCatalogSnapshot.Page page = productCatalog.page(after, pageSize);
+        if (page != null) {
+            return catalogPage(page, request);
+        }
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            CursorPage<EntityVersion> versions = productService.getVersions(after, pageSize);
+            if (request.checkNotModified(ETags.ofPage(versions, EntityVersion::getId, EntityVersion::getVersion))) {
+                return null;
+            }
+        }
+        CursorPage<Product> products = productService.getAll(after, pageSize);
+        return ResponseEntity.status(products.getItems().isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK)
+                .eTag(ETags.ofPage(products, Product::getId, Product::getVersion))
+                .cacheControl(CacheControl.noCache())
+                .body(products);
+    }
+
+    private static ResponseEntity<byte[]> catalogPage(ProductCatalogSnapshot.Page page, WebRequest request) {
+        if (request.checkNotModified(page.getEtag())) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(page.isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK)
+                .eTag(page.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON);
+        if (page.getGzip() != null && AcceptEncoding.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(page.getGzip());
+        }
+        return response.body(page.getJson());
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<SearchPage<Product>> search(@RequestParam String q,
+                                                      @RequestParam(defaultValue = "0") int offset,
+                                                      @RequestParam(required = false) Integer size) {
+        SearchPage<Product> products = productSearchService.search(q, offset, paginationProperties.resolve(size));
+        return ResponseEntity.status(products.getItems().isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK)
                 .body(products);
     }
 
+    @PostMapping(value = "/import", consumes = TEXT_CSV_VALUE)
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<ProductImportResult> importCsv(InputStream csv) throws IOException {
+        ProductImportResult result = productCsvService.importCsv(csv);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/export", produces = TEXT_CSV_VALUE)
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportCsv() {
+        StreamingResponseBody body = productCsvService::exportCsv;
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=products.csv")
+                .contentType(MediaType.parseMediaType(TEXT_CSV_VALUE))
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Product> getById(@PathVariable Long id) {
         try {
             Product product = productService.getById(id);
-            return new ResponseEntity<>(product, HttpStatus.OK);
+            return ResponseEntity.ok()
+                    .eTag(ETags.of(product.getVersion()))
+                    .cacheControl(CacheControl.noCache())
+                    .body(product);
         } catch (ResourceNotFoundException e) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
         }
@@ -46,10 +135,14 @@ public class ProductController {
 
     @PutMapping("/{id}")
     @PreAuthorize("hasAuthority('ADMIN')")
-    public ResponseEntity<Product> update(@PathVariable Long id, @RequestBody Product productDetails) {
+    public ResponseEntity<Product> update(@PathVariable Long id,
+                                          @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                          @RequestBody Product productDetails) {
         try {
-            Product updatedProduct = productService.update(id, productDetails);
-            return new ResponseEntity<>(updatedProduct, HttpStatus.OK);
+            Product updatedProduct = productService.update(id, productDetails, ETags.expectedVersion(ifMatch));
+            return ResponseEntity.ok()
+                    .eTag(ETags.of(updatedProduct.getVersion()))
+                    .body(updatedProduct);
         } catch (ResourceNotFoundException e) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
         }
@@ -0,0 +1,54 @@
+package com.store.management.tool.controller;
+
+import com.store.management.tool.config.PaginationProperties;
+import com.store.management.tool.dto.SalesReport;
+import com.store.management.tool.dto.StockDiscrepancy;
+import com.store.management.tool.dto.StockLevel;
+import com.store.management.tool.service.SalesReportService;
+import com.store.management.tool.service.StockJournal;
+import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("/api/reports")
+public class ReportController {
+
+    private final SalesReportService salesReportService;
+    private final StockJournal stockJournal;
+    private final PaginationProperties paginationProperties;
+
+    @GetMapping("/sales")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<SalesReport> getSales(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                @RequestParam(required = false) Integer top) {
+        SalesReport report = salesReportService.getSales(from, to, paginationProperties.resolve(top));
+        return ResponseEntity.ok(report);
+    }
+
+    @GetMapping("/stock/{productId}")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<StockLevel> getStock(@PathVariable Long productId,
+                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant at) {
+        StockLevel stock = stockJournal.getStockAt(productId, at == null ? Instant.now() : at);
+        return ResponseEntity.ok(stock);
+    }
+
+    @GetMapping("/stock/discrepancies")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<List<StockDiscrepancy>> getStockDiscrepancies() {
+        return ResponseEntity.ok(stockJournal.findDiscrepancies());
+    }
+}
@@ -1,7 +1,12 @@
 package com.store.management.tool.controller;
 
+import com.store.management.tool.config.PaginationProperties;
 import com.store.management.tool.domain.User;
+import com.store.management.tool.dto.CursorPage;
+import com.store.management.tool.dto.OrderFilter;
+import com.store.management.tool.dto.OrderResponse;
 import com.store.management.tool.exception.ResourceNotFoundException;
+import com.store.management.tool.service.OrderService;
 import com.store.management.tool.service.UserService;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -10,14 +15,14 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.List;
-
 @RestController
 @AllArgsConstructor
 @RequestMapping("/api/users")
 public class UserController {
 
     private final UserService userService;
+    private final OrderService orderService;
+    private final PaginationProperties paginationProperties;
 
     @PostMapping()
     public ResponseEntity<User> add(@RequestBody User user) {
@@ -28,9 +33,10 @@ public class UserController {
 
     @GetMapping
     @PreAuthorize("hasAuthority('ADMIN')")
-    public ResponseEntity<List<User>> getAll() {
-        List<User> users = userService.getAll();
-        return ResponseEntity.status(users.isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK)
+    public ResponseEntity<CursorPage<User>> getAll(@RequestParam(required = false) Long after,
+                                                   @RequestParam(required = false) Integer size) {
+        CursorPage<User> users = userService.getAll(after, paginationProperties.resolve(size));
+        return ResponseEntity.status(users.getItems().isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK)
                 .body(users);
     }
 
@@ -44,6 +50,23 @@ public class UserController {
         }
     }
 
+    /**
+     * Order history of the user, oldest first.
+     */
+    @GetMapping("/{id}/orders")
+    public ResponseEntity<CursorPage<OrderResponse>> getOrders(@PathVariable Long id,
+                                                               @RequestParam(required = false) Long after,
+                                                               @RequestParam(required = false) Integer size) {
+        try {
+            userService.getById(id);
+        } catch (ResourceNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
+        }
+        CursorPage<OrderResponse> orders = orderService.search(OrderFilter.ofUser(id), after, paginationProperties.resolve(size));
+        return ResponseEntity.status(orders.getItems().isEmpty() ? HttpStatus.NO_CONTENT : HttpStatus.OK)
+                .body(orders);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<User> update(@PathVariable Long id, @RequestBody User userDetails) {
         try {
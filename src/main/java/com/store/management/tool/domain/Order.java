@@ -1,5 +1,6 @@
 package com.store.management.tool.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.store.management.tool.utils.Status;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -7,7 +8,9 @@ import lombok.Setter;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 @Entity
@@ -16,7 +19,8 @@ import java.util.Set;
 @Setter
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_store_seq")
+    @SequenceGenerator(name = "order_store_seq", sequenceName = "order_store_seq", allocationSize = 50)
     private Long id;
     @Column(name = "id_user")
     private Long idUser;
@@ -24,9 +28,25 @@ public class Order {
     private LocalDate orderDate;
     private Status status;
     private BigDecimal subtotal;
-    @ManyToMany
-    @JoinTable(name = "order_product",
-            joinColumns = @JoinColumn(name = "order_id"),
-            inverseJoinColumns = @JoinColumn(name = "product_id"))
+    @Version
+    @JsonIgnore
+    private Long version;
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id")
+    @JsonIgnore
+    private List<OrderLine> lines = new ArrayList<>();
+    /**
+     * Products requested by the client, each carrying its id and the quantity to order. Only the lines are stored.
+     */
+    @Transient
     private Set<Product> products = new HashSet<>();
+
+    public void addLine(Product product, int quantity) {
+        OrderLine line = new OrderLine();
+        line.setOrder(this);
+        line.setProduct(product);
+        line.setQuantity(quantity);
+        line.setUnitPrice(product.getPrice());
+        lines.add(line);
+    }
 }
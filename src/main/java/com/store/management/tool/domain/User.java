@@ -10,7 +10,8 @@ import lombok.*;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_store_seq")
+    @SequenceGenerator(name = "user_store_seq", sequenceName = "user_store_seq", allocationSize = 50)
     private Long id;
     @Column(unique = true)
     private String email;
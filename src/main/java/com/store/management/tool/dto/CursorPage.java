@@ -0,0 +1,30 @@
+package com.store.management.tool.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+    private final List<T> items;
+    private final Long next;
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code size + 1}: the extra row only signals that
+     * another page exists, and the cursor points at the last row that is actually returned.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, Long> cursor) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        return new CursorPage<>(items, cursor.apply(items.get(size - 1)));
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).toList(), next);
+    }
+}
@@ -0,0 +1,16 @@
+package com.store.management.tool.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@AllArgsConstructor
+public class DailySales {
+    private final LocalDate date;
+    private final long orders;
+    private final long units;
+    private final BigDecimal revenue;
+}
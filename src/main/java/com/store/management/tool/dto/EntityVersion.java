@@ -0,0 +1,10 @@
+package com.store.management.tool.dto;
+
+/**
+ * Id and optimistic lock version of an entity, enough to tell whether it changed.
+ */
+public interface EntityVersion {
+    Long getId();
+
+    Long getVersion();
+}
@@ -0,0 +1,15 @@
+package com.store.management.tool.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The order an idempotency key created, and the hash of the request that created it. The hash is null for keys
+ * claimed before requests were hashed.
+ */
+@Getter
+@AllArgsConstructor
+public class IdempotencyClaim {
+    private final Long orderId;
+    private final String requestHash;
+}
@@ -0,0 +1,28 @@
+package com.store.management.tool.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class OrderBatchResult {
+    public static final String CREATED = "CREATED";
+    public static final String REJECTED = "REJECTED";
+
+    private final int index;
+    private final String status;
+    private final Long orderId;
+    private final String error;
+
+    public static OrderBatchResult created(int index, Long orderId) {
+        return new OrderBatchResult(index, CREATED, orderId, null);
+    }
+
+    public static OrderBatchResult rejected(int index, String error) {
+        return new OrderBatchResult(index, REJECTED, null, error);
+    }
+
+    public OrderBatchResult withOffset(int offset) {
+        return new OrderBatchResult(index + offset, status, orderId, error);
+    }
+}
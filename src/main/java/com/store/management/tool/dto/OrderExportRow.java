@@ -0,0 +1,34 @@
+package com.store.management.tool.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.store.management.tool.utils.Status;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One line of an exported order, flattened together with its order. An order without lines yields a single
+ * row whose product columns are null.
+ */
+@Getter
+@AllArgsConstructor
+public class OrderExportRow {
+    private final Long orderId;
+    private final Long version;
+    private final Long idUser;
+    private final LocalDate orderDate;
+    private final Status status;
+    private final BigDecimal subtotal;
+    private final Long productId;
+    private final String productName;
+    private final String productDescription;
+    private final BigDecimal unitPrice;
+    private final Integer quantity;
+
+    @JsonIgnore
+    public OrderProductResponse getProduct() {
+        return new OrderProductResponse(productId, productName, productDescription, unitPrice, quantity);
+    }
+}
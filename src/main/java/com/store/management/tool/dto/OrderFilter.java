@@ -0,0 +1,35 @@
+package com.store.management.tool.dto;
+
+import com.store.management.tool.utils.Status;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Criteria of an order search. Bounds are inclusive and every criterion left null matches all orders.
+ */
+@Getter
+@Setter
+public class OrderFilter {
+    private Long idUser;
+    private Status status;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+    private BigDecimal minSubtotal;
+    private BigDecimal maxSubtotal;
+
+    public static OrderFilter ofUser(Long idUser) {
+        OrderFilter filter = new OrderFilter();
+        filter.setIdUser(idUser);
+        return filter;
+    }
+
+    public boolean isEmpty() {
+        return idUser == null && status == null && from == null && to == null && minSubtotal == null && maxSubtotal == null;
+    }
+}
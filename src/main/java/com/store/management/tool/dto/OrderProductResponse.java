@@ -0,0 +1,26 @@
+package com.store.management.tool.dto;
+
+import com.store.management.tool.domain.OrderLine;
+import com.store.management.tool.domain.Product;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+@Getter
+@AllArgsConstructor
+public class OrderProductResponse {
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final BigDecimal price;
+    private final Integer quantity;
+
+    /**
+     * Price and quantity are the ones recorded on the line, not the product's current values.
+     */
+    public static OrderProductResponse from(OrderLine line) {
+        Product product = line.getProduct();
+        return new OrderProductResponse(product.getId(), product.getName(), product.getDescription(), line.getUnitPrice(), line.getQuantity());
+    }
+}
@@ -0,0 +1,32 @@
+package com.store.management.tool.dto;
+
+import com.store.management.tool.domain.Order;
+import com.store.management.tool.utils.Status;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class OrderResponse {
+    private final Long id;
+    private final Long version;
+    private final Long idUser;
+    private final LocalDate orderDate;
+    private final Status status;
+    private final BigDecimal subtotal;
+    private final List<OrderProductResponse> products;
+
+    /**
+     * Must be called while the order's lines are loaded or the persistence context is still open.
+     */
+    public static OrderResponse from(Order order) {
+        List<OrderProductResponse> products = order.getLines().stream()
+                .map(OrderProductResponse::from)
+                .toList();
+        return new OrderResponse(order.getId(), order.getVersion(), order.getIdUser(), order.getOrderDate(), order.getStatus(), order.getSubtotal(), products);
+    }
+}
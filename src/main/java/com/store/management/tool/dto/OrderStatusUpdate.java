@@ -0,0 +1,22 @@
+package com.store.management.tool.dto;
+
+import com.store.management.tool.utils.Status;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Moves orders to {@code status}: the listed {@code ids} or, without ids, every order in the preceding status
+ * placed between {@code from} and {@code to} inclusive. A missing date leaves that side of the range open, but
+ * without ids at least one of them is required.
+ */
+@Getter
+@Setter
+public class OrderStatusUpdate {
+    private Status status;
+    private List<Long> ids;
+    private LocalDate from;
+    private LocalDate to;
+}
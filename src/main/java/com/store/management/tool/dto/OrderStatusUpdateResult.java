@@ -0,0 +1,35 @@
+package com.store.management.tool.dto;
+
+import com.store.management.tool.utils.Status;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Getter
+public class OrderStatusUpdateResult {
+    private final Status status;
+    private final List<Long> transitioned = new ArrayList<>();
+    private final List<RejectedOrder> rejected = new ArrayList<>();
+
+    public OrderStatusUpdateResult(Status status) {
+        this.status = status;
+    }
+
+    public void addTransitioned(Collection<Long> ids) {
+        transitioned.addAll(ids);
+    }
+
+    public void reject(Long id, String error) {
+        rejected.add(new RejectedOrder(id, error));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class RejectedOrder {
+        private final Long id;
+        private final String error;
+    }
+}
@@ -0,0 +1,9 @@
+package com.store.management.tool.dto;
+
+import com.store.management.tool.utils.Status;
+
+public interface OrderStatusView {
+    Long getId();
+
+    Status getStatus();
+}
@@ -0,0 +1,30 @@
+package com.store.management.tool.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Outcome of an order accepted for asynchronous placement. Pending until the writer has placed or rejected it.
+ */
+@Getter
+@AllArgsConstructor
+public class OrderTicket {
+    public static final String PENDING = "PENDING";
+
+    private final String id;
+    private final String status;
+    private final Long orderId;
+    private final String error;
+
+    public static OrderTicket pending(String id) {
+        return new OrderTicket(id, PENDING, null, null);
+    }
+
+    public static OrderTicket of(String id, OrderBatchResult result) {
+        return new OrderTicket(id, result.getStatus(), result.getOrderId(), result.getError());
+    }
+
+    public boolean isPending() {
+        return PENDING.equals(status);
+    }
+}
@@ -0,0 +1,42 @@
+package com.store.management.tool.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+public class ProductImportResult {
+    /**
+     * Only the first rejected rows are reported in detail, so a broken file cannot blow up the response.
+     */
+    public static final int MAX_REPORTED_REJECTIONS = 1000;
+
+    private int created;
+    private int updated;
+    private int rejectedCount;
+    private final List<RejectedRow> rejected = new ArrayList<>();
+
+    public void addCreated(int count) {
+        created += count;
+    }
+
+    public void addUpdated(int count) {
+        updated += count;
+    }
+
+    public void reject(long row, String error) {
+        rejectedCount++;
+        if (rejected.size() < MAX_REPORTED_REJECTIONS) {
+            rejected.add(new RejectedRow(row, error));
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class RejectedRow {
+        private final long row;
+        private final String error;
+    }
+}
@@ -0,0 +1,11 @@
+package com.store.management.tool.dto;
+
+import java.math.BigDecimal;
+
+public interface ProductSales {
+    Long getProductId();
+
+    Long getUnits();
+
+    BigDecimal getRevenue();
+}
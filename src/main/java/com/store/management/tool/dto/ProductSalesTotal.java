@@ -0,0 +1,14 @@
+package com.store.management.tool.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+@Getter
+@AllArgsConstructor
+public class ProductSalesTotal implements ProductSales {
+    private final Long productId;
+    private final Long units;
+    private final BigDecimal revenue;
+}
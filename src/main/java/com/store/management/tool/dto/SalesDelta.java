@@ -0,0 +1,61 @@
+package com.store.management.tool.dto;
+
+import com.store.management.tool.domain.Order;
+import com.store.management.tool.domain.OrderLine;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Changes to the sales rollups caused by placing, modifying or deleting orders. Entries are kept sorted so
+ * rollup rows are always locked in the same order.
+ */
+@Getter
+public class SalesDelta {
+    private final SortedMap<LocalDate, Totals> days = new TreeMap<>();
+    private final SortedMap<LocalDate, SortedMap<Long, Totals>> products = new TreeMap<>();
+
+    public SalesDelta add(Order order) {
+        return apply(order, 1);
+    }
+
+    public SalesDelta subtract(Order order) {
+        return apply(order, -1);
+    }
+
+    private SalesDelta apply(Order order, int sign) {
+        if (order.getOrderDate() == null || order.getLines().isEmpty()) {
+            return this;
+        }
+
+        Totals day = days.computeIfAbsent(order.getOrderDate(), date -> new Totals());
+        day.orders += sign;
+        SortedMap<Long, Totals> dayProducts = products.computeIfAbsent(order.getOrderDate(), date -> new TreeMap<>());
+        for (OrderLine line : order.getLines()) {
+            long units = (long) sign * line.getQuantity();
+            BigDecimal revenue = sign > 0 ? line.getTotal() : line.getTotal().negate();
+            day.add(units, revenue);
+            dayProducts.computeIfAbsent(line.getProduct().getId(), productId -> new Totals()).add(units, revenue);
+        }
+        return this;
+    }
+
+    @Getter
+    public static class Totals {
+        private long orders;
+        private long units;
+        private BigDecimal revenue = BigDecimal.ZERO;
+
+        private void add(long units, BigDecimal revenue) {
+            this.units += units;
+            this.revenue = this.revenue.add(revenue);
+        }
+
+        public boolean isZero() {
+            return orders == 0 && units == 0 && revenue.signum() == 0;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.store.management.tool.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class SalesReport {
+    private final LocalDate from;
+    private final LocalDate to;
+    private final long orders;
+    private final long units;
+    private final BigDecimal revenue;
+    private final List<DailySales> days;
+    private final List<ProductSales> topProducts;
+}
@@ -0,0 +1,17 @@
+package com.store.management.tool.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * A page of ranked search results. {@code next} is the offset of the following page, or null on the last page.
+ */
+@Getter
+@AllArgsConstructor
+public class SearchPage<T> {
+    private final List<T> items;
+    private final int total;
+    private final Integer next;
+}
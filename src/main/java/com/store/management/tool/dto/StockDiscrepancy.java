@@ -0,0 +1,15 @@
+package com.store.management.tool.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A product whose stored quantity does not match the sum of its journalled movements.
+ */
+@Getter
+@AllArgsConstructor
+public class StockDiscrepancy {
+    private final Long productId;
+    private final int quantity;
+    private final long journalQuantity;
+}
@@ -0,0 +1,17 @@
+package com.store.management.tool.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Stock of a product as of a point in time, replayed from the stock movement journal.
+ */
+@Getter
+@AllArgsConstructor
+public class StockLevel {
+    private final Long productId;
+    private final Instant at;
+    private final long quantity;
+}
@@ -0,0 +1,41 @@
+package com.store.management.tool.dto;
+
+import com.store.management.tool.domain.Order;
+import com.store.management.tool.domain.OrderLine;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * One change of a product's stock. The order id is null for catalog adjustments.
+ */
+@Getter
+@AllArgsConstructor
+public class StockMovement {
+    private final Long productId;
+    private final int delta;
+    private final Long orderId;
+    private final Instant movedAt;
+
+    public static StockMovement adjustment(Long productId, int delta) {
+        return new StockMovement(productId, delta, null, Instant.now());
+    }
+
+    /**
+     * One movement per line, taking the ordered quantity out of stock.
+     */
+    public static List<StockMovement> forOrders(Collection<Order> orders) {
+        Instant now = Instant.now();
+        List<StockMovement> movements = new ArrayList<>();
+        for (Order order : orders) {
+            for (OrderLine line : order.getLines()) {
+                movements.add(new StockMovement(line.getProduct().getId(), -line.getQuantity(), order.getId(), now));
+            }
+        }
+        return movements;
+    }
+}
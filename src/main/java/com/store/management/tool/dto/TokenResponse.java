@@ -0,0 +1,12 @@
+package com.store.management.tool.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class TokenResponse {
+    private final String token;
+    private final String tokenType;
+    private final long expiresIn;
+}
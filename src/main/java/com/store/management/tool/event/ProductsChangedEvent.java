@@ -0,0 +1,24 @@
+package com.store.management.tool.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+
+/**
+ * Published whenever products are created, modified, deleted or change stock. Listeners that keep
+ * derived state should use {@code @TransactionalEventListener} so they only see committed changes.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductsChangedEvent {
+    private final Collection<Long> productIds;
+    /**
+     * Set when only stock levels changed, so listeners that do not depend on stock can ignore the event.
+     */
+    private final boolean stockOnly;
+
+    public ProductsChangedEvent(Collection<Long> productIds) {
+        this(productIds, false);
+    }
+}
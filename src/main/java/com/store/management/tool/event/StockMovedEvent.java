@@ -0,0 +1,16 @@
+package com.store.management.tool.event;
+
+import com.store.management.tool.dto.StockMovement;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Published with every stock change. The journal only records it once the transaction has committed.
+ */
+@Getter
+@AllArgsConstructor
+public class StockMovedEvent {
+    private final List<StockMovement> movements;
+}
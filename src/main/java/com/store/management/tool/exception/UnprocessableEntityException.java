@@ -0,0 +1,7 @@
+package com.store.management.tool.exception;
+
+public class UnprocessableEntityException extends RuntimeException {
+    public UnprocessableEntityException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,60 @@
+package com.store.management.tool.repository;
+
+import com.store.management.tool.config.CacheConfig;
+import com.store.management.tool.dto.IdempotencyClaim;
+import lombok.AllArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Idempotency keys of created orders, per user. The primary key makes a concurrent second claim of the same key
+ * by the same user fail.
+ */
+@Repository
+@AllArgsConstructor
+public class IdempotencyKeyRepository {
+
+    private static final String INSERT = """
+            INSERT INTO idempotency_key (user_id, idempotency_key, request_hash, order_id, created_at) VALUES (?, ?, ?, ?, ?)""";
+
+    private static final String FIND_CLAIM = """
+            SELECT order_id, request_hash FROM idempotency_key WHERE user_id = ? AND idempotency_key = ? AND created_at >= ?""";
+
+    private static final String DELETE_EXPIRED_KEY = """
+            DELETE FROM idempotency_key WHERE user_id = ? AND idempotency_key = ? AND created_at < ?""";
+
+    private static final String DELETE_EXPIRED = """
+            DELETE FROM idempotency_key WHERE created_at < ?""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Claims the user's key for the order, replacing a claim that expired but was not purged yet.
+     */
+    public void insert(Long userId, String key, String requestHash, Long orderId, Instant createdAt, Instant expiredBefore) {
+        jdbcTemplate.update(DELETE_EXPIRED_KEY, userId, key, Timestamp.from(expiredBefore));
+        jdbcTemplate.update(INSERT, userId, key, requestHash, orderId, Timestamp.from(createdAt));
+    }
+
+    /**
+     * Claims found are also kept in a bounded in-memory cache. Only found claims are cached, so a rolled back
+     * claim never leaves a stale entry behind.
+     */
+    @Cacheable(cacheNames = CacheConfig.IDEMPOTENCY_KEYS, key = "#userId + ':' + #key", unless = "#result == null")
+    public Optional<IdempotencyClaim> findClaim(Long userId, String key, Instant createdSince) {
+        List<IdempotencyClaim> claims = jdbcTemplate.query(FIND_CLAIM,
+                (rs, rowNum) -> new IdempotencyClaim(rs.getLong("order_id"), rs.getString("request_hash")),
+                userId, key, Timestamp.from(createdSince));
+        return claims.stream().findFirst();
+    }
+
+    public int deleteCreatedBefore(Instant expiredBefore) {
+        return jdbcTemplate.update(DELETE_EXPIRED, Timestamp.from(expiredBefore));
+    }
+}
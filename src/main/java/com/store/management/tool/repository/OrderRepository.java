@@ -1,9 +1,85 @@
 package com.store.management.tool.repository;
 
 import com.store.management.tool.domain.Order;
+import com.store.management.tool.dto.EntityVersion;
+import com.store.management.tool.dto.OrderExportRow;
+import com.store.management.tool.dto.OrderStatusView;
+import com.store.management.tool.utils.Status;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
+    List<Order> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Ids and versions of the same page as {@link #findByIdGreaterThanOrderByIdAsc}, without loading the orders.
+     */
+    List<EntityVersion> findVersionsByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @EntityGraph(attributePaths = {"lines", "lines.product"})
+    Optional<Order> findWithLinesById(Long id);
+
+    /**
+     * Loads the order for an update that bumps its version on commit, even when only its lines change.
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("select o from Order o where o.id = :id")
+    Optional<Order> findForUpdateById(@Param("id") Long id);
+
+    /**
+     * Forward-only read of the matching orders as one row per line, ordered by order, so no entity enters the
+     * persistence context. Null filters match every order. Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select new com.store.management.tool.dto.OrderExportRow(o.id, o.version, o.idUser, o.orderDate, o.status,
+                o.subtotal, p.id, p.name, p.description, l.unitPrice, l.quantity)
+            from Order o left join o.lines l left join l.product p
+            where (cast(:from as date) is null or o.orderDate >= :from)
+              and (cast(:to as date) is null or o.orderDate <= :to)
+              and (:status is null or o.status = :status)
+            order by o.id, l.id""")
+    Stream<OrderExportRow> streamForExport(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                           @Param("status") Status status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o.id as id, o.status as status from Order o where o.id in :ids order by o.id")
+    List<OrderStatusView> findStatusesForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Locks the orders in {@code status} placed between the given dates; null dates leave the range open.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select o.id from Order o
+            where o.status = :status
+              and (cast(:from as date) is null or o.orderDate >= :from)
+              and (cast(:to as date) is null or o.orderDate <= :to)
+            order by o.id""")
+    List<Long> findIdsForUpdate(@Param("status") Status status, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Bulk updates bypass optimistic locking, so the version is bumped here to keep ETags of the orders valid.
+     */
+    @Modifying
+    @Query("update Order o set o.status = :to, o.version = o.version + 1 where o.id in :ids and o.status = :from")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("from") Status from, @Param("to") Status to);
 }
@@ -0,0 +1,47 @@
+package com.store.management.tool.repository;
+
+import com.store.management.tool.domain.Order;
+import com.store.management.tool.dto.OrderFilter;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class OrderSpecifications {
+
+    private OrderSpecifications() {
+    }
+
+    /**
+     * Orders after the {@code after} cursor matching the filter. Only criteria that are set become predicates,
+     * so the database can pick the index for the combination actually queried.
+     */
+    public static Specification<Order> matching(OrderFilter filter, Long after) {
+        return (root, query, builder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getIdUser() != null) {
+                predicates.add(builder.equal(root.get("idUser"), filter.getIdUser()));
+            }
+            if (filter.getStatus() != null) {
+                predicates.add(builder.equal(root.get("status"), filter.getStatus()));
+            }
+            if (filter.getFrom() != null) {
+                predicates.add(builder.greaterThanOrEqualTo(root.get("orderDate"), filter.getFrom()));
+            }
+            if (filter.getTo() != null) {
+                predicates.add(builder.lessThanOrEqualTo(root.get("orderDate"), filter.getTo()));
+            }
+            if (filter.getMinSubtotal() != null) {
+                predicates.add(builder.greaterThanOrEqualTo(root.get("subtotal"), filter.getMinSubtotal()));
+            }
+            if (filter.getMaxSubtotal() != null) {
+                predicates.add(builder.lessThanOrEqualTo(root.get("subtotal"), filter.getMaxSubtotal()));
+            }
+            if (after != null) {
+                predicates.add(builder.greaterThan(root.get("id"), after));
+            }
+            return builder.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
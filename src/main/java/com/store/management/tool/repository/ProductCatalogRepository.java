@@ -0,0 +1,54 @@
+package com.store.management.tool.repository;
+
+import com.store.management.tool.domain.Product;
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads products for the catalog snapshot with plain JDBC, outside any persistence context, so the background
+ * refresh never competes with request threads for Hibernate sessions or shows up in their statistics.
+ */
+@Repository
+@AllArgsConstructor
+public class ProductCatalogRepository {
+
+    private static final int MAX_IDS_PER_QUERY = 1000;
+    private static final String FIND_ALL = "SELECT id, name, description, price, quantity, version FROM product ORDER BY id";
+    private static final String FIND_BY_IDS = "SELECT id, name, description, price, quantity, version FROM product WHERE id IN (:ids)";
+    private static final RowMapper<Product> PRODUCT = (rs, rowNum) -> {
+        Product product = new Product();
+        product.setId(rs.getLong("id"));
+        product.setName(rs.getString("name"));
+        product.setDescription(rs.getString("description"));
+        product.setPrice(rs.getBigDecimal("price"));
+        product.setQuantity(rs.getInt("quantity"));
+        product.setVersion(rs.getLong("version"));
+        return product;
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<Product> findAll() {
+        return jdbcTemplate.query(FIND_ALL, PRODUCT);
+    }
+
+    /**
+     * Ids that no longer exist are left out.
+     */
+    public List<Product> findAllById(Collection<Long> ids) {
+        List<Long> remaining = List.copyOf(ids);
+        List<Product> products = new ArrayList<>(remaining.size());
+        for (int from = 0; from < remaining.size(); from += MAX_IDS_PER_QUERY) {
+            List<Long> chunk = remaining.subList(from, Math.min(from + MAX_IDS_PER_QUERY, remaining.size()));
+            products.addAll(jdbcTemplate.query(FIND_BY_IDS, Map.of("ids", chunk), PRODUCT));
+        }
+        return products;
+    }
+}
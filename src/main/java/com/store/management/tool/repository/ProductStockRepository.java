@@ -0,0 +1,15 @@
+package com.store.management.tool.repository;
+
+import java.util.List;
+import java.util.SortedMap;
+
+public interface ProductStockRepository {
+
+    /**
+     * Decrements the stock of every product with a conditional update that only succeeds while
+     * {@code quantity >= requested}. Updates are sent as one JDBC batch in ascending id order.
+     *
+     * @return ids of the products whose stock was not sufficient
+     */
+    List<Long> decreaseStock(SortedMap<Long, Integer> requestedStock);
+}
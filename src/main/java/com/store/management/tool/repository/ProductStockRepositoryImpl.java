@@ -0,0 +1,37 @@
+package com.store.management.tool.repository;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+@AllArgsConstructor
+public class ProductStockRepositoryImpl implements ProductStockRepository {
+
+    private static final String DECREASE_STOCK = "UPDATE product SET quantity = quantity - ?, version = version + 1 WHERE id = ? AND quantity >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> decreaseStock(SortedMap<Long, Integer> requestedStock) {
+        List<Long> productIds = new ArrayList<>(requestedStock.size());
+        List<Object[]> batchArgs = new ArrayList<>(requestedStock.size());
+        for (Map.Entry<Long, Integer> entry : requestedStock.entrySet()) {
+            productIds.add(entry.getKey());
+            batchArgs.add(new Object[]{entry.getValue(), entry.getKey(), entry.getValue()});
+        }
+
+        int[] updated = jdbcTemplate.batchUpdate(DECREASE_STOCK, batchArgs);
+
+        List<Long> rejected = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                rejected.add(productIds.get(i));
+            }
+        }
+        return rejected;
+    }
+}
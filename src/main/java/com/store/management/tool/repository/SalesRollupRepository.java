@@ -0,0 +1,103 @@
+package com.store.management.tool.repository;
+
+import com.store.management.tool.dto.DailySales;
+import com.store.management.tool.dto.ProductSales;
+import com.store.management.tool.dto.ProductSalesTotal;
+import com.store.management.tool.dto.SalesDelta;
+import lombok.AllArgsConstructor;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Daily sales rollups, kept up to date by applying the delta of every order change in the same transaction.
+ */
+@Repository
+@AllArgsConstructor
+public class SalesRollupRepository {
+
+    private static final String MERGE_DAILY = """
+            MERGE INTO sales_daily d
+            USING (SELECT CAST(? AS DATE) AS sales_date, CAST(? AS BIGINT) AS orders, CAST(? AS BIGINT) AS units,
+                          CAST(? AS DECIMAL(14, 2)) AS revenue) s
+            ON d.sales_date = s.sales_date
+            WHEN MATCHED THEN UPDATE SET orders = d.orders + s.orders, units = d.units + s.units, revenue = d.revenue + s.revenue
+            WHEN NOT MATCHED THEN INSERT (sales_date, orders, units, revenue) VALUES (s.sales_date, s.orders, s.units, s.revenue)""";
+
+    private static final String MERGE_DAILY_PRODUCT = """
+            MERGE INTO sales_daily_product d
+            USING (SELECT CAST(? AS DATE) AS sales_date, CAST(? AS BIGINT) AS product_id, CAST(? AS BIGINT) AS units,
+                          CAST(? AS DECIMAL(14, 2)) AS revenue) s
+            ON d.sales_date = s.sales_date AND d.product_id = s.product_id
+            WHEN MATCHED THEN UPDATE SET units = d.units + s.units, revenue = d.revenue + s.revenue
+            WHEN NOT MATCHED THEN INSERT (sales_date, product_id, units, revenue) VALUES (s.sales_date, s.product_id, s.units, s.revenue)""";
+
+    private static final String FIND_DAILY = """
+            SELECT sales_date, orders, units, revenue FROM sales_daily
+            WHERE sales_date BETWEEN ? AND ? AND orders <> 0
+            ORDER BY sales_date""";
+
+    private static final String FIND_PRODUCT_SALES = """
+            SELECT product_id, SUM(units) AS units, SUM(revenue) AS revenue FROM sales_daily_product
+            WHERE sales_date BETWEEN ? AND ?
+            GROUP BY product_id
+            HAVING SUM(units) <> 0
+            ORDER BY revenue DESC, product_id
+            FETCH FIRST ? ROWS ONLY""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Two transactions creating the same row race on the insert; the loser is reported as a concurrency
+     * failure so the whole order transaction is retried and then updates the row.
+     */
+    public void apply(SalesDelta delta) {
+        List<Object[]> dailyArgs = new ArrayList<>();
+        delta.getDays().forEach((date, totals) -> {
+            if (!totals.isZero()) {
+                dailyArgs.add(new Object[]{date, totals.getOrders(), totals.getUnits(), totals.getRevenue()});
+            }
+        });
+        List<Object[]> productArgs = new ArrayList<>();
+        delta.getProducts().forEach((date, products) -> {
+            for (Map.Entry<Long, SalesDelta.Totals> entry : products.entrySet()) {
+                SalesDelta.Totals totals = entry.getValue();
+                if (!totals.isZero()) {
+                    productArgs.add(new Object[]{date, entry.getKey(), totals.getUnits(), totals.getRevenue()});
+                }
+            }
+        });
+
+        try {
+            if (!dailyArgs.isEmpty()) {
+                jdbcTemplate.batchUpdate(MERGE_DAILY, dailyArgs);
+            }
+            if (!productArgs.isEmpty()) {
+                jdbcTemplate.batchUpdate(MERGE_DAILY_PRODUCT, productArgs);
+            }
+        } catch (DuplicateKeyException e) {
+            throw new ConcurrencyFailureException("Sales rollup row was created concurrently", e);
+        }
+    }
+
+    public List<DailySales> findDaily(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(FIND_DAILY, (rs, rowNum) -> new DailySales(
+                rs.getObject("sales_date", LocalDate.class),
+                rs.getLong("orders"),
+                rs.getLong("units"),
+                rs.getBigDecimal("revenue")), from, to);
+    }
+
+    public List<ProductSales> findProductSales(LocalDate from, LocalDate to, int limit) {
+        return jdbcTemplate.query(FIND_PRODUCT_SALES, (rs, rowNum) -> new ProductSalesTotal(
+                rs.getLong("product_id"),
+                rs.getLong("units"),
+                rs.getBigDecimal("revenue")), from, to, limit);
+    }
+}
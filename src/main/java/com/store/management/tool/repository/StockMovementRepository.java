@@ -0,0 +1,57 @@
+package com.store.management.tool.repository;
+
+import com.store.management.tool.dto.StockDiscrepancy;
+import com.store.management.tool.dto.StockMovement;
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Append-only stock movement journal.
+ */
+@Repository
+@AllArgsConstructor
+public class StockMovementRepository {
+
+    private static final String INSERT = """
+            INSERT INTO stock_movement (product_id, delta, order_id, moved_at) VALUES (?, ?, ?, ?)""";
+
+    private static final String QUANTITY_AT = """
+            SELECT COALESCE(SUM(delta), 0) FROM stock_movement
+            WHERE product_id = ? AND moved_at <= ?""";
+
+    private static final String FIND_DISCREPANCIES = """
+            SELECT p.id, p.quantity, COALESCE(m.quantity, 0) AS journal_quantity
+            FROM product p LEFT JOIN (
+                SELECT product_id, SUM(delta) AS quantity FROM stock_movement GROUP BY product_id
+            ) m ON m.product_id = p.id
+            WHERE p.quantity <> COALESCE(m.quantity, 0)
+            ORDER BY p.id""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(List<StockMovement> movements) {
+        jdbcTemplate.batchUpdate(INSERT, movements, movements.size(), (ps, movement) -> {
+            ps.setLong(1, movement.getProductId());
+            ps.setInt(2, movement.getDelta());
+            ps.setObject(3, movement.getOrderId());
+            ps.setTimestamp(4, Timestamp.from(movement.getMovedAt()));
+        });
+    }
+
+    public long quantityAt(Long productId, Instant at) {
+        Long quantity = jdbcTemplate.queryForObject(QUANTITY_AT, Long.class, productId, Timestamp.from(at));
+        return quantity == null ? 0 : quantity;
+    }
+
+    public List<StockDiscrepancy> findDiscrepancies() {
+        return jdbcTemplate.query(FIND_DISCREPANCIES, (rs, rowNum) -> new StockDiscrepancy(
+                rs.getLong("id"),
+                rs.getInt("quantity"),
+                rs.getLong("journal_quantity")));
+    }
+}
@@ -0,0 +1,155 @@
+package com.store.management.tool.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.store.management.tool.config.OrderProperties;
+import com.store.management.tool.domain.Order;
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.dto.OrderBatchResult;
+import com.store.management.tool.dto.OrderTicket;
+import com.store.management.tool.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accepts orders into a bounded buffer and answers right away. A single writer drains the buffer in
+ * micro-batches through {@link OrderService#addBatch}, so each batch takes its locks, stock updates and
+ * inserts in one transaction. Outcomes are kept for {@code ticket-retention} so clients can poll for them; pending
+ * tickets are held apart until the writer resolves them, however long the order waits in the buffer.
+ */
+@Service
+@Slf4j
+public class AsyncOrderService {
+
+    private final OrderService orderService;
+    private final BlockingQueue<AcceptedOrder> queue;
+    private final Map<String, OrderTicket> pending = new ConcurrentHashMap<>();
+    private final Cache<String, OrderTicket> tickets;
+    private final int batchSize;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AsyncOrderService(OrderService orderService, OrderProperties orderProperties, MeterRegistry meterRegistry) {
+        OrderProperties.Async properties = orderProperties.getAsync();
+        this.orderService = orderService;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.batchSize = properties.getBatchSize();
+        // outcomes leave by age only: a size bound would drop fresh ones during a burst and clients would poll into 404
+        this.tickets = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTicketRetention())
+                .build();
+
+        Gauge.builder("orders.async.queue.size", queue, BlockingQueue::size)
+                .description("Accepted orders waiting to be placed")
+                .register(meterRegistry);
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("order-writer-");
+        threadFactory.setDaemon(true);
+        this.writer = threadFactory.newThread(this::drain);
+        this.writer.start();
+    }
+
+    /**
+     * Only checks the shape of the order; users and stock are checked when the order is placed.
+     *
+     * @throws ServiceUnavailableException when the buffer is full
+     */
+    public OrderTicket submit(Order order) {
+        validate(order);
+        OrderTicket ticket = OrderTicket.pending(UUID.randomUUID().toString());
+        pending.put(ticket.getId(), ticket);
+        if (!queue.offer(new AcceptedOrder(ticket.getId(), order))) {
+            pending.remove(ticket.getId());
+            log.warn("Async order buffer is full ({} waiting).", queue.size());
+            throw new ServiceUnavailableException("Too many orders waiting to be placed. Please retry.");
+        }
+        return ticket;
+    }
+
+    public Optional<OrderTicket> getTicket(String id) {
+        OrderTicket ticket = pending.get(id);
+        return Optional.ofNullable(ticket != null ? ticket : tickets.getIfPresent(id));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        if (!queue.isEmpty()) {
+            log.error("Order writer stopped with {} accepted orders not placed.", queue.size());
+        }
+    }
+
+    private void drain() {
+        List<AcceptedOrder> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AcceptedOrder first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                place(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void place(List<AcceptedOrder> batch) {
+        List<OrderBatchResult> results;
+        try {
+            results = orderService.addBatch(batch.stream().map(AcceptedOrder::order).toList());
+        } catch (RuntimeException e) {
+            log.error("Failed to place {} accepted orders: {}", batch.size(), e.getMessage());
+            for (int i = 0; i < batch.size(); i++) {
+                resolve(batch.get(i).ticketId(), OrderBatchResult.rejected(i, "Unable to place order. Please retry."));
+            }
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            resolve(batch.get(i).ticketId(), results.get(i));
+        }
+    }
+
+    private void resolve(String ticketId, OrderBatchResult result) {
+        // the outcome is visible before the pending ticket goes, so a poll in between never misses both
+        tickets.put(ticketId, OrderTicket.of(ticketId, result));
+        pending.remove(ticketId);
+    }
+
+    private static void validate(Order order) {
+        if (order.getIdUser() == null || order.getOrderDate() == null || order.getStatus() == null) {
+            throw new IllegalArgumentException("User, order date and status are required");
+        }
+        if (order.getProducts() == null || order.getProducts().isEmpty()) {
+            throw new IllegalArgumentException("Unable to complete order. Please add existing products.");
+        }
+        for (Product product : order.getProducts()) {
+            if (product.getId() == null || product.getQuantity() == null || product.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Every product needs an id and a positive quantity");
+            }
+        }
+    }
+
+    private record AcceptedOrder(String ticketId, Order order) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.store.management.tool.service;
+
+import com.store.management.tool.config.OrderProperties;
+import com.store.management.tool.domain.Order;
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.dto.IdempotencyClaim;
+import com.store.management.tool.exception.DuplicateResourceException;
+import com.store.management.tool.exception.UnprocessableEntityException;
+import com.store.management.tool.repository.IdempotencyKeyRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Remembers which order an {@code Idempotency-Key} created. Keys belong to the user placing the order and are
+ * bound to a hash of the request, so they only replay the same user's same request. Keys are persisted for the
+ * retention window.
+ */
+@Service
+@AllArgsConstructor
+@Slf4j
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final OrderProperties orderProperties;
+
+    /**
+     * @return the id of the order the user created with the key, or null if the user did not use the key within
+     * the retention window
+     * @throws UnprocessableEntityException when the user used the key for a different request
+     */
+    public Long findOrderId(Long userId, String key, String requestHash) {
+        validate(userId, key);
+        IdempotencyClaim claim = idempotencyKeyRepository.findClaim(userId, key, expiredBefore()).orElse(null);
+        if (claim == null) {
+            return null;
+        }
+        if (claim.getRequestHash() != null && !claim.getRequestHash().equals(requestHash)) {
+            throw new UnprocessableEntityException(String.format(
+                    "Idempotency key '%s' was already used for a different request.", key));
+        }
+        return claim.getOrderId();
+    }
+
+    /**
+     * Claims the key in the caller's transaction.
+     *
+     * @throws DuplicateResourceException when the key was already used, rolling the caller back
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long userId, String key, String requestHash, Long orderId) {
+        validate(userId, key);
+        try {
+            idempotencyKeyRepository.insert(userId, key, requestHash, orderId, Instant.now(), expiredBefore());
+        } catch (DuplicateKeyException e) {
+            throw new DuplicateResourceException(String.format("Idempotency key '%s' was already used.", key));
+        }
+    }
+
+    /**
+     * SHA-256 of the fields that make up an order request, with the products in id order so the order they were
+     * sent in does not matter.
+     */
+    public static String requestHash(Order order) {
+        Set<Product> products = order.getProducts() == null ? Set.of() : order.getProducts();
+        String request = order.getIdUser() + "|" + order.getOrderDate() + "|" + order.getStatus() + "|"
+                + products.stream()
+                .sorted(Comparator.comparing(Product::getId, Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .thenComparing(Product::getQuantity, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .map(product -> product.getId() + ":" + product.getQuantity())
+                .collect(Collectors.joining(","));
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(request.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${store.orders.idempotency.purge-interval:PT1H}")
+    public void purgeExpired() {
+        int purged = idempotencyKeyRepository.deleteCreatedBefore(expiredBefore());
+        log.debug("Purged {} expired idempotency keys.", purged);
+    }
+
+    private Instant expiredBefore() {
+        return Instant.now().minus(orderProperties.getIdempotency().getRetention());
+    }
+
+    private static void validate(Long userId, String key) {
+        if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        if (userId == null) {
+            throw new IllegalArgumentException("An order with an Idempotency-Key needs an idUser");
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.store.management.tool.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.store.management.tool.dto.OrderExportRow;
+import com.store.management.tool.dto.OrderProductResponse;
+import com.store.management.tool.dto.OrderResponse;
+import com.store.management.tool.repository.OrderRepository;
+import com.store.management.tool.utils.Status;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Exports orders with their lines as NDJSON, one order per line, or as CSV, one order line per row. Rows are
+ * read forward-only as projections and written as they arrive, so memory use does not depend on the number
+ * of orders.
+ */
+@Service
+@AllArgsConstructor
+public class OrderExportService {
+
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .enable(JsonGenerator.Feature.IGNORE_UNKNOWN)
+            .build();
+    private static final CsvSchema ORDER_LINE_SCHEMA = CsvSchema.builder()
+            .addColumn("orderId")
+            .addColumn("orderDate")
+            .addColumn("status")
+            .addColumn("idUser")
+            .addColumn("subtotal")
+            .addColumn("productId")
+            .addColumn("productName")
+            .addColumn("unitPrice")
+            .addColumn("quantity")
+            .setUseHeader(true)
+            .build();
+
+    private final OrderRepository orderRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void exportCsv(LocalDate from, LocalDate to, Status status, OutputStream out) throws IOException {
+        try (SequenceWriter writer = CSV_MAPPER.writer(ORDER_LINE_SCHEMA).writeValues(out);
+             Stream<OrderExportRow> rows = orderRepository.streamForExport(from, to, status)) {
+            Iterator<OrderExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportNdjson(LocalDate from, LocalDate to, Status status, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(OrderResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+             Stream<OrderExportRow> rows = orderRepository.streamForExport(from, to, status)) {
+            Iterator<OrderExportRow> iterator = rows.iterator();
+            OrderExportRow order = null;
+            List<OrderProductResponse> products = new ArrayList<>();
+            while (iterator.hasNext()) {
+                OrderExportRow row = iterator.next();
+                if (order != null && !order.getOrderId().equals(row.getOrderId())) {
+                    writeOrder(writer, generator, order, products);
+                    products = new ArrayList<>();
+                }
+                order = row;
+                if (row.getProductId() != null) {
+                    products.add(row.getProduct());
+                }
+            }
+            if (order != null) {
+                writeOrder(writer, generator, order, products);
+            }
+        }
+    }
+
+    private static void writeOrder(ObjectWriter writer, JsonGenerator generator, OrderExportRow order,
+                                   List<OrderProductResponse> products) throws IOException {
+        writer.writeValue(generator, new OrderResponse(order.getOrderId(), order.getVersion(), order.getIdUser(),
+                order.getOrderDate(), order.getStatus(), order.getSubtotal(), products));
+        generator.writeRaw('\n');
+    }
+}
@@ -0,0 +1,70 @@
+package com.store.management.tool.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.store.management.tool.config.OrderProperties;
+import com.store.management.tool.domain.Order;
+import com.store.management.tool.dto.OrderBatchResult;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a JSON array or NDJSON stream of orders and places them in chunks, one transaction per chunk,
+ * so only one chunk of orders is held in memory at a time.
+ */
+@Service
+@AllArgsConstructor
+@Slf4j
+public class OrderIngestionService {
+
+    private final OrderService orderService;
+    private final ObjectMapper objectMapper;
+    private final OrderProperties orderProperties;
+
+    public List<OrderBatchResult> ingest(InputStream body) throws IOException {
+        int chunkSize = orderProperties.getBatch().getChunkSize();
+        List<OrderBatchResult> results = new ArrayList<>();
+        List<Order> chunk = new ArrayList<>(chunkSize);
+
+        try (MappingIterator<Order> orders = objectMapper.readerFor(Order.class).readValues(body)) {
+            while (orders.hasNextValue()) {
+                chunk.add(orders.nextValue());
+                if (chunk.size() == chunkSize) {
+                    placeChunk(chunk, results);
+                }
+            }
+        } catch (JsonProcessingException e) {
+            placeChunk(chunk, results);
+            log.warn("Stopped bulk order ingestion at order {}: {}", results.size(), e.getOriginalMessage());
+            results.add(OrderBatchResult.rejected(results.size(), "Malformed order: " + e.getOriginalMessage()));
+            return results;
+        }
+        placeChunk(chunk, results);
+
+        return results;
+    }
+
+    private void placeChunk(List<Order> chunk, List<OrderBatchResult> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        int offset = results.size();
+        try {
+            orderService.addBatch(chunk).forEach(result -> results.add(result.withOffset(offset)));
+        } catch (DataAccessException e) {
+            log.error("Failed to place orders {} to {}: {}", offset, offset + chunk.size() - 1, e.getMessage());
+            for (int i = 0; i < chunk.size(); i++) {
+                results.add(OrderBatchResult.rejected(offset + i, "Unable to place order. Please retry."));
+            }
+        }
+        chunk.clear();
+    }
+}
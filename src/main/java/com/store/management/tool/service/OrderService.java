@@ -1,124 +1,409 @@
 package com.store.management.tool.service;
 
+import com.store.management.tool.config.RetryOnConflict;
 import com.store.management.tool.domain.Order;
+import com.store.management.tool.domain.OrderLine;
 import com.store.management.tool.domain.Product;
 import com.store.management.tool.domain.User;
+import com.store.management.tool.dto.CursorPage;
+import com.store.management.tool.dto.EntityVersion;
+import com.store.management.tool.dto.OrderBatchResult;
+import com.store.management.tool.dto.OrderFilter;
+import com.store.management.tool.dto.OrderResponse;
+import com.store.management.tool.dto.OrderStatusUpdate;
+import com.store.management.tool.dto.OrderStatusUpdateResult;
+import com.store.management.tool.dto.SalesDelta;
+import com.store.management.tool.dto.StockMovement;
+import com.store.management.tool.event.StockMovedEvent;
+import com.store.management.tool.exception.PreconditionFailedException;
 import com.store.management.tool.exception.ResourceNotFoundException;
 import com.store.management.tool.repository.OrderRepository;
+import com.store.management.tool.repository.OrderSpecifications;
+import com.store.management.tool.repository.SalesRollupRepository;
+import com.store.management.tool.utils.Status;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
 @Slf4j
+@Timed("service.duration")
 public class OrderService {
 
+    private static final int STATUS_UPDATE_CHUNK_SIZE = 1000;
+    private static final String INVALID_LINE = "Every product needs an id and a positive quantity";
+
     private final OrderRepository orderRepository;
     private final UserService userService;
     private final ProductService productService;
+    private final SalesRollupRepository salesRollupRepository;
+    private final StockMetrics stockMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IdempotencyService idempotencyService;
 
+    @RetryOnConflict
+    @Transactional(rollbackFor = ResourceNotFoundException.class)
     public Order add(Order order) throws ResourceNotFoundException {
-        User user = userService.getById(order.getIdUser());
-        order.setIdUser(user.getId());
+        return place(order);
+    }
 
-        BigDecimal subtotal = BigDecimal.valueOf(0);
+    /**
+     * Places the order and claims the idempotency key in the same transaction, so a key that was already
+     * used rolls the whole order back, stock included. The key is claimed for the ordering user, together with
+     * the hash of the request.
+     *
+     * @throws com.store.management.tool.exception.DuplicateResourceException when the key was already used
+     */
+    @RetryOnConflict
+    @Transactional(rollbackFor = ResourceNotFoundException.class)
+    public Order add(Order order, String idempotencyKey) throws ResourceNotFoundException {
+        Order savedOrder = place(order);
+        idempotencyService.record(savedOrder.getIdUser(), idempotencyKey, IdempotencyService.requestHash(order), savedOrder.getId());
+        return savedOrder;
+    }
+
+    /**
+     * Builds a new order from the request on every call, so an attempt retried after a conflict does not
+     * carry the lines or the generated id of the attempt that was rolled back.
+     */
+    private Order place(Order request) throws ResourceNotFoundException {
+        User user = userService.getById(request.getIdUser());
+        Order order = new Order();
+        order.setIdUser(user.getId());
+        order.setOrderDate(request.getOrderDate());
+        order.setStatus(request.getStatus());
+        order.setProducts(request.getProducts());
 
         if (order.getProducts() != null && !order.getProducts().isEmpty()) {
-            for (Product product : order.getProducts()) {
-                subtotal = subtotal.add(BigDecimal.valueOf(product.getQuantity()).multiply((product.getPrice())));
-            }
-            order.setProducts(this.mappedProducts(order));
+            this.addLines(order, order.getProducts());
         }
 
-        order.setSubtotal(subtotal);
+        order.setSubtotal(subtotalOf(order));
 
         if (order.getSubtotal().compareTo(BigDecimal.ZERO) != 0) {
-            return orderRepository.save(order);
+            salesRollupRepository.apply(new SalesDelta().add(order));
+            Order savedOrder = orderRepository.save(order);
+            eventPublisher.publishEvent(new StockMovedEvent(StockMovement.forOrders(List.of(savedOrder))));
+            return savedOrder;
         } else {
             throw new ResourceNotFoundException("Unable to complete order. Please add existing products.");
         }
     }
 
-    public List<Order> getAll() {
-        log.info("Retrieving all orders.");
-        return orderRepository.findAll();
+    /**
+     * Products of the page are loaded with batch fetching, so a page costs a fixed number of queries
+     * instead of one extra query per order.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponse> getAll(Long after, int size) {
+        log.debug("Retrieving orders after id {}, page size {}.", after, size);
+        List<Order> orders = orderRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, Limit.of(size + 1));
+        return CursorPage.of(orders, size, Order::getId).map(OrderResponse::from);
+    }
+
+    /**
+     * Page of the orders matching the filter, in id order like {@link #getAll}.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponse> search(OrderFilter filter, Long after, int size) {
+        log.debug("Searching orders after id {}, page size {}.", after, size);
+        List<Order> orders = orderRepository.findBy(OrderSpecifications.matching(filter, after),
+                query -> query.sortBy(Sort.by("id")).limit(size + 1).all());
+        return CursorPage.of(orders, size, Order::getId).map(OrderResponse::from);
     }
 
-    public Order getById(Long id) throws ResourceNotFoundException {
-        log.info("Retrieving order by id: {}", id);
-        return orderRepository.findById(id)
+    /**
+     * Ids and versions of the page {@link #getAll} would return, read without loading the orders.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<EntityVersion> getVersions(Long after, int size) {
+        List<EntityVersion> versions = orderRepository.findVersionsByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, Limit.of(size + 1));
+        return CursorPage.of(versions, size, EntityVersion::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public OrderResponse getById(Long id) throws ResourceNotFoundException {
+        log.debug("Retrieving order by id: {}", id);
+        return orderRepository.findWithLinesById(id)
+                .map(OrderResponse::from)
                 .orElseThrow(() -> new ResourceNotFoundException(String.format("Order with id: %d not found", id)));
     }
 
+    @RetryOnConflict
+    @Transactional(rollbackFor = ResourceNotFoundException.class)
     public Order updateOrder(Long id, Order orderDetails) throws ResourceNotFoundException {
-        Order order = orderRepository.findById(id)
+        return update(id, orderDetails, null);
+    }
+
+    /**
+     * Updates the order only if it is still at the expected version; null updates unconditionally.
+     *
+     * @throws PreconditionFailedException when the order changed since the caller read it
+     */
+    @RetryOnConflict
+    @Transactional(rollbackFor = ResourceNotFoundException.class)
+    public Order updateOrder(Long id, Order orderDetails, Long expectedVersion) throws ResourceNotFoundException {
+        return update(id, orderDetails, expectedVersion);
+    }
+
+    private Order update(Long id, Order orderDetails, Long expectedVersion) throws ResourceNotFoundException {
+        Order order = orderRepository.findForUpdateById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(String.format("Order with id %d not found", id)));
+        if (expectedVersion != null && !expectedVersion.equals(order.getVersion())) {
+            throw new PreconditionFailedException(String.format("Order %d was modified concurrently", id));
+        }
 
         User user = userService.getById(orderDetails.getIdUser());
         orderDetails.setIdUser(user.getId());
 
+        SalesDelta salesDelta = new SalesDelta().subtract(order);
         order.setOrderDate(orderDetails.getOrderDate());
         order.setStatus(orderDetails.getStatus());
 
-        BigDecimal subtotal = BigDecimal.valueOf(0);
-
-        order.setProducts(Set.of());
+        order.getLines().clear();
         if (orderDetails.getProducts() != null && !orderDetails.getProducts().isEmpty()) {
-            order.setProducts(this.mappedProducts(orderDetails));
-
-            for (Product product : order.getProducts()) {
-                subtotal = subtotal.add(BigDecimal.valueOf(product.getQuantity()).multiply((product.getPrice())));
-            }
+            this.addLines(order, orderDetails.getProducts());
         }
 
-        order.setSubtotal(subtotal);
+        order.setSubtotal(subtotalOf(order));
 
         if (order.getSubtotal().compareTo(BigDecimal.ZERO) != 0) {
-            return orderRepository.save(order);
+            salesRollupRepository.apply(salesDelta.add(order));
+            Order savedOrder = orderRepository.save(order);
+            eventPublisher.publishEvent(new StockMovedEvent(StockMovement.forOrders(List.of(savedOrder))));
+            return savedOrder;
         } else {
             throw new ResourceNotFoundException("Unable to complete order. Please add existing products.");
         }
     }
 
+    @Transactional(rollbackFor = ResourceNotFoundException.class)
     public void delete(Long id) throws ResourceNotFoundException {
         log.info("Deleting order with id: {}", id);
         Order orderToDelete = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(String.format("Order with id: %d not found", id)));
 
+        salesRollupRepository.apply(new SalesDelta().subtract(orderToDelete));
         orderRepository.delete(orderToDelete);
         log.info("Order {} deleted successfully", id);
     }
 
-    private Set<Product> mappedProducts(Order order) {
-        Set<Product> orderedProducts = new HashSet<>();
-
-        order.getProducts().forEach(orderProduct -> {
-            try {
-                Product product = productService.getById(orderProduct.getId());
-                int availableStock = product.getQuantity();
-                int requestedStock = orderProduct.getQuantity();
+    /**
+     * Moves orders one status forward without loading them: the orders are locked in id order, then moved with
+     * one set-based update per thousand orders. Listed orders that do not exist or are not in the preceding
+     * status are reported as rejected.
+     *
+     * @throws IllegalArgumentException when no status is given or it is {@link Status#NEW}
+     */
+    @RetryOnConflict
+    @Transactional
+    public OrderStatusUpdateResult updateStatus(OrderStatusUpdate update) {
+        Status target = update.getStatus();
+        if (target == null || target.previous() == null) {
+            throw new IllegalArgumentException("Status must be one of IN_PROGRESS or DELIVERED");
+        }
+        if (update.getIds() == null && update.getFrom() == null && update.getTo() == null) {
+            throw new IllegalArgumentException("List the ids of the orders to move, or give at least one of from and to");
+        }
+        Status source = target.previous();
+        OrderStatusUpdateResult result = new OrderStatusUpdateResult(target);
 
-                if (availableStock >= requestedStock) {
-                    int newStock = availableStock - requestedStock;
-                    product.setQuantity(newStock);
-                    productService.update(product.getId(), product);
-                    log.info(String.format("Stock for product %d updated. Remaining stock: %d. Quantity ordered: %d", product.getId(), newStock, requestedStock));
-                    orderedProducts.add(orderProduct);
+        List<Long> ids;
+        if (update.getIds() == null) {
+            ids = orderRepository.findIdsForUpdate(source, update.getFrom(), update.getTo());
+        } else {
+            List<Long> requested = new ArrayList<>(new TreeSet<>(update.getIds().stream().filter(Objects::nonNull).toList()));
+            Map<Long, Status> statuses = new HashMap<>();
+            for (List<Long> chunk : chunks(requested)) {
+                orderRepository.findStatusesForUpdate(chunk)
+                        .forEach(order -> statuses.put(order.getId(), order.getStatus()));
+            }
+            ids = new ArrayList<>(requested.size());
+            for (Long id : requested) {
+                Status status = statuses.get(id);
+                if (status == null) {
+                    result.reject(id, String.format("Order with id %d not found", id));
+                } else if (status != source) {
+                    result.reject(id, String.format("Order with id %d is %s and cannot move to %s", id, status, target));
                 } else {
-                    log.error("Insufficient stock to fulfill order");
-                    throw new IllegalArgumentException("Insufficient stock to fulfill order");
+                    ids.add(id);
                 }
-            } catch (ResourceNotFoundException e) {
-                log.error("Failed to retrieve product information: " + e);
             }
-        });
+        }
+
+        for (List<Long> chunk : chunks(ids)) {
+            orderRepository.updateStatus(chunk, source, target);
+        }
+        result.addTransitioned(ids);
+        log.info("Moved {} orders to {}, rejected {}.", ids.size(), target, result.getRejected().size());
+        return result;
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += STATUS_UPDATE_CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(ids.size(), from + STATUS_UPDATE_CHUNK_SIZE)));
+        }
+        return chunks;
+    }
+
+    /**
+     * Places a chunk of orders in one transaction. Users are checked with one query and the ordered products
+     * are locked once, so every order is validated against the remaining stock in memory. Rejected orders are
+     * reported and skipped; accepted orders are inserted with JDBC batching. Results follow the input order.
+     */
+    @RetryOnConflict
+    @Transactional
+    public List<OrderBatchResult> addBatch(List<Order> orders) {
+        Set<Long> userIds = orders.stream()
+                .map(Order::getIdUser)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> existingUsers = userIds.isEmpty() ? Set.of() : userService.getExistingIds(userIds);
 
-        return orderedProducts;
+        Set<Long> productIds = orders.stream()
+                .filter(order -> order.getProducts() != null)
+                .flatMap(order -> order.getProducts().stream())
+                .map(Product::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Product> products = productIds.isEmpty() ? Map.of() : productService.getAllForUpdate(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        Map<Long, Integer> remainingStock = new HashMap<>();
+        products.values().forEach(product -> remainingStock.put(product.getId(), product.getQuantity()));
+        Map<Long, Integer> reservedStock = new TreeMap<>();
+        List<Order> acceptedOrders = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        OrderBatchResult[] results = new OrderBatchResult[orders.size()];
+
+        for (int i = 0; i < orders.size(); i++) {
+            Order order = orders.get(i);
+            String error = validate(order, existingUsers);
+
+            Map<Long, Integer> requestedStock = new TreeMap<>();
+            if (error == null) {
+                order.getProducts().stream()
+                        .filter(orderProduct -> products.containsKey(orderProduct.getId()))
+                        .forEach(orderProduct -> requestedStock.merge(orderProduct.getId(), orderProduct.getQuantity(), Integer::sum));
+                if (requestedStock.isEmpty()) {
+                    error = "Unable to complete order. Please add existing products.";
+                } else if (requestedStock.entrySet().stream().anyMatch(line -> remainingStock.get(line.getKey()) < line.getValue())) {
+                    error = "Insufficient stock to fulfill order";
+                    stockMetrics.batchRejected();
+                }
+            }
+
+            if (error != null) {
+                results[i] = OrderBatchResult.rejected(i, error);
+                continue;
+            }
+
+            requestedStock.forEach((productId, quantity) -> {
+                remainingStock.merge(productId, -quantity, Integer::sum);
+                reservedStock.merge(productId, quantity, Integer::sum);
+            });
+            acceptedOrders.add(newOrder(order, requestedStock, products));
+            acceptedIndexes.add(i);
+        }
+
+        if (!acceptedOrders.isEmpty()) {
+            productService.decreaseStock(reservedStock);
+            SalesDelta salesDelta = new SalesDelta();
+            acceptedOrders.forEach(salesDelta::add);
+            salesRollupRepository.apply(salesDelta);
+            orderRepository.saveAll(acceptedOrders);
+            eventPublisher.publishEvent(new StockMovedEvent(StockMovement.forOrders(acceptedOrders)));
+        }
+        for (int i = 0; i < acceptedOrders.size(); i++) {
+            int index = acceptedIndexes.get(i);
+            results[index] = OrderBatchResult.created(index, acceptedOrders.get(i).getId());
+        }
+
+        log.info("Placed {} of {} orders in batch.", acceptedOrders.size(), orders.size());
+        return Arrays.asList(results);
+    }
+
+    private static String validate(Order order, Set<Long> existingUsers) {
+        if (order.getIdUser() == null || !existingUsers.contains(order.getIdUser())) {
+            return String.format("User with id: %d not found", order.getIdUser());
+        }
+        if (order.getOrderDate() == null || order.getStatus() == null) {
+            return "Order date and status are required";
+        }
+        if (order.getProducts() == null || order.getProducts().isEmpty()) {
+            return "Unable to complete order. Please add existing products.";
+        }
+        if (order.getProducts().stream().anyMatch(OrderService::isInvalidLine)) {
+            return INVALID_LINE;
+        }
+        return null;
+    }
+
+    private static Order newOrder(Order request, Map<Long, Integer> requestedStock, Map<Long, Product> products) {
+        Order order = new Order();
+        order.setIdUser(request.getIdUser());
+        order.setOrderDate(request.getOrderDate());
+        order.setStatus(request.getStatus());
+
+        requestedStock.forEach((productId, quantity) -> order.addLine(products.get(productId), quantity));
+        order.setSubtotal(subtotalOf(order));
+        return order;
+    }
+
+    private static BigDecimal subtotalOf(Order order) {
+        return order.getLines().stream()
+                .map(OrderLine::getTotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static boolean isInvalidLine(Product orderProduct) {
+        return orderProduct.getId() == null || orderProduct.getQuantity() == null || orderProduct.getQuantity() <= 0;
+    }
+
+    /**
+     * Takes the requested quantities out of stock and records one line per product, priced at the current
+     * catalog price. Unknown products are skipped.
+     *
+     * @throws IllegalArgumentException when a line has no id or a quantity that is not positive, which the
+     *                                  conditional decrement would otherwise add to stock
+     */
+    private void addLines(Order order, Set<Product> orderProducts) {
+        if (orderProducts.stream().anyMatch(OrderService::isInvalidLine)) {
+            throw new IllegalArgumentException(INVALID_LINE);
+        }
+        Map<Long, Integer> requestedStock = new TreeMap<>();
+        orderProducts.forEach(orderProduct -> requestedStock.merge(orderProduct.getId(), orderProduct.getQuantity(), Integer::sum));
+
+        Map<Long, Product> availableProducts = productService.decreaseStock(requestedStock).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        requestedStock.forEach((productId, quantity) -> {
+            Product product = availableProducts.get(productId);
+            if (product != null) {
+                order.addLine(product, quantity);
+            } else {
+                log.error("Failed to retrieve product information: product with id {} not found", productId);
+            }
+        });
     }
 }
@@ -0,0 +1,24 @@
+package com.store.management.tool.service;
+
+import com.store.management.tool.config.CacheConfig;
+import com.store.management.tool.event.ProductsChangedEvent;
+import lombok.AllArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@AllArgsConstructor
+public class ProductCacheListener {
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS);
+        if (cache != null) {
+            event.getProductIds().forEach(cache::evict);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.store.management.tool.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.store.management.tool.config.PaginationProperties;
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.event.ProductsChangedEvent;
+import com.store.management.tool.repository.ProductCatalogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Read model of the product listing. Committed product changes, stock included, only mark the catalog as
+ * changed; a single background thread loads the changed products and swaps in a new
+ * {@link ProductCatalogSnapshot}, coalescing whatever changed while it was busy into one refresh.
+ * <p>
+ * A page is only served from the snapshot when the snapshot includes every change committed so far, so a
+ * client never reads older data than the database would give it. Until the refresh catches up, callers fall
+ * back to the database. Refreshes read with plain JDBC, so they never touch a Hibernate session.
+ */
+@Service
+@Slf4j
+public class ProductCatalog {
+
+    private final ProductCatalogRepository productCatalogRepository;
+    private final ObjectWriter productWriter;
+    private final int firstPageSize;
+    private final AtomicReference<ProductCatalogSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Set<Long> changedIds = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+    private final ExecutorService refresher;
+    private final Timer refreshTimer;
+    private final Counter refreshedRows;
+
+    public ProductCatalog(ProductCatalogRepository productCatalogRepository, ObjectMapper objectMapper,
+                          PaginationProperties paginationProperties, MeterRegistry meterRegistry) {
+        this.productCatalogRepository = productCatalogRepository;
+        this.productWriter = objectMapper.writerFor(Product.class);
+        this.firstPageSize = paginationProperties.getDefaultSize();
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("product-catalog-");
+        threadFactory.setDaemon(true);
+        this.refresher = Executors.newSingleThreadExecutor(threadFactory);
+
+        this.refreshTimer = Timer.builder("product.catalog.refresh")
+                .description("Time to load changed products and swap in a new catalog snapshot")
+                .register(meterRegistry);
+        this.refreshedRows = Counter.builder("product.catalog.refresh.rows")
+                .description("Product rows loaded by catalog refreshes")
+                .register(meterRegistry);
+        Gauge.builder("product.catalog.size", snapshot, current -> current.get() == null ? 0 : current.get().size())
+                .description("Products in the current catalog snapshot")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduleRefresh();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        changedIds.addAll(event.getProductIds());
+        generation.incrementAndGet();
+        scheduleRefresh();
+    }
+
+    /**
+     * The page from the current snapshot, or null when the snapshot misses changes that were already committed.
+     */
+    public ProductCatalogSnapshot.Page page(Long after, int size) {
+        ProductCatalogSnapshot current = snapshot.get();
+        if (current == null || current.getGeneration() != generation.get()) {
+            return null;
+        }
+        return current.page(after, size);
+    }
+
+    /**
+     * Waits for the snapshot to include every change committed so far.
+     *
+     * @return false when it did not within the timeout
+     */
+    public boolean awaitRefresh(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!isCurrent()) {
+            if (System.nanoTime() - deadline > 0) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        refresher.shutdownNow();
+        refresher.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private boolean isCurrent() {
+        ProductCatalogSnapshot current = snapshot.get();
+        return current != null && current.getGeneration() == generation.get();
+    }
+
+    private void scheduleRefresh() {
+        if (refreshScheduled.compareAndSet(false, true)) {
+            refresher.execute(this::refresh);
+        }
+    }
+
+    /**
+     * Reads the generation before taking the changed ids, so a change that lands in between is loaded now and
+     * also leaves the snapshot one generation behind, which only costs another refresh.
+     */
+    private void refresh() {
+        refreshScheduled.set(false);
+        long target = generation.get();
+        Set<Long> ids = new HashSet<>();
+        for (Long id : changedIds) {
+            changedIds.remove(id);
+            ids.add(id);
+        }
+        try {
+            refreshTimer.record(() -> {
+                ProductCatalogSnapshot current = snapshot.get();
+                List<Product> products = current == null
+                        ? productCatalogRepository.findAll()
+                        : productCatalogRepository.findAllById(ids);
+                refreshedRows.increment(products.size());
+                snapshot.set(current == null
+                        ? ProductCatalogSnapshot.build(target, products, this::encode, firstPageSize)
+                        : current.withChanges(target, products, ids, this::encode));
+            });
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh the product catalog, reads use the database until the next change.", e);
+            snapshot.set(null);
+        }
+    }
+
+    private byte[] encode(Product product) {
+        try {
+            return productWriter.writeValueAsBytes(product);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode product " + product.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.store.management.tool.service;
+
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.utils.ETags;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Immutable copy of the catalog in id order, each product already encoded as JSON. The first page of the
+ * default size is encoded whole, plain and gzipped, so serving it only writes bytes; any other page is
+ * assembled from the encoded products without touching the database or Jackson.
+ * <p>
+ * Changes never modify a snapshot: {@link #withChanges} copies the arrays into a new one.
+ */
+public class ProductCatalogSnapshot {
+
+    private static final byte[] ITEMS = "{\"items\":[".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NEXT = "],\"next\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+
+    private final long generation;
+    private final long[] ids;
+    private final long[] versions;
+    private final byte[][] products;
+    private final int firstPageSize;
+    private final Page firstPage;
+
+    private ProductCatalogSnapshot(long generation, long[] ids, long[] versions, byte[][] products, int firstPageSize) {
+        this.generation = generation;
+        this.ids = ids;
+        this.versions = versions;
+        this.products = products;
+        this.firstPageSize = firstPageSize;
+        Page first = assemble(0, firstPageSize);
+        this.firstPage = new Page(first.getJson(), gzip(first.getJson()), first.getEtag(), first.isEmpty());
+    }
+
+    /**
+     * @param products the whole catalog in id order
+     * @param encoder  encodes one product exactly as it appears in a page
+     */
+    public static ProductCatalogSnapshot build(long generation, List<Product> products, Function<Product, byte[]> encoder,
+                                               int firstPageSize) {
+        long[] ids = new long[products.size()];
+        long[] versions = new long[products.size()];
+        byte[][] encoded = new byte[products.size()][];
+        for (int i = 0; i < products.size(); i++) {
+            Product product = products.get(i);
+            ids[i] = product.getId();
+            versions[i] = product.getVersion();
+            encoded[i] = encoder.apply(product);
+        }
+        return new ProductCatalogSnapshot(generation, ids, versions, encoded, firstPageSize);
+    }
+
+    /**
+     * A new snapshot where the given products replace or join the current ones, and the changed ids that are
+     * not among them are removed.
+     */
+    public ProductCatalogSnapshot withChanges(long generation, Collection<Product> changed, Set<Long> changedIds,
+                                              Function<Product, byte[]> encoder) {
+        List<Product> sorted = changed.stream().sorted(Comparator.comparing(Product::getId)).toList();
+        int capacity = ids.length + sorted.size();
+        long[] newIds = new long[capacity];
+        long[] newVersions = new long[capacity];
+        byte[][] newProducts = new byte[capacity][];
+
+        int size = 0;
+        int current = 0;
+        for (Product product : sorted) {
+            for (; current < ids.length && ids[current] < product.getId(); current++) {
+                if (!changedIds.contains(ids[current])) {
+                    newIds[size] = ids[current];
+                    newVersions[size] = versions[current];
+                    newProducts[size++] = products[current];
+                }
+            }
+            newIds[size] = product.getId();
+            newVersions[size] = product.getVersion();
+            newProducts[size++] = encoder.apply(product);
+        }
+        for (; current < ids.length; current++) {
+            if (!changedIds.contains(ids[current])) {
+                newIds[size] = ids[current];
+                newVersions[size] = versions[current];
+                newProducts[size++] = products[current];
+            }
+        }
+        return new ProductCatalogSnapshot(generation, Arrays.copyOf(newIds, size), Arrays.copyOf(newVersions, size),
+                Arrays.copyOf(newProducts, size), firstPageSize);
+    }
+
+    /**
+     * The change generation this snapshot includes.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * The same page, cursor and ETag {@code ProductService.getAll} and {@code ETags.ofPage} would give.
+     */
+    public Page page(Long after, int size) {
+        if (after == null && size == firstPageSize) {
+            return firstPage;
+        }
+        int from = 0;
+        if (after != null) {
+            int position = Arrays.binarySearch(ids, after);
+            from = position >= 0 ? position + 1 : -position - 1;
+        }
+        return assemble(from, size);
+    }
+
+    private Page assemble(int from, int size) {
+        int to = (int) Math.min((long) from + size, ids.length);
+        Long next = to < ids.length ? ids[to - 1] : null;
+
+        int length = ITEMS.length + NEXT.length + 1 + Math.max(0, to - from - 1);
+        for (int i = from; i < to; i++) {
+            length += products[i].length;
+        }
+        byte[] cursor = next == null ? NULL : Long.toString(next).getBytes(StandardCharsets.US_ASCII);
+        byte[] json = new byte[length + cursor.length];
+
+        int offset = put(json, 0, ITEMS);
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                json[offset++] = ',';
+            }
+            offset = put(json, offset, products[i]);
+        }
+        offset = put(json, offset, NEXT);
+        offset = put(json, offset, cursor);
+        json[offset] = '}';
+        return new Page(json, null, ETags.ofPage(ids, versions, from, to, next), from >= to);
+    }
+
+    private static int put(byte[] target, int offset, byte[] source) {
+        System.arraycopy(source, 0, target, offset, source.length);
+        return offset + source.length;
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Page {
+        private final byte[] json;
+        /**
+         * The gzipped JSON, or null when the page was assembled on demand.
+         */
+        private final byte[] gzip;
+        private final String etag;
+        private final boolean empty;
+    }
+}
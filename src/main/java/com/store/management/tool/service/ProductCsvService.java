@@ -0,0 +1,196 @@
+package com.store.management.tool.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.store.management.tool.config.ProductCsvProperties;
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.dto.ProductImportResult;
+import com.store.management.tool.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Imports and exports the catalog as CSV with the columns {@code id,name,description,price,quantity}.
+ * Both directions stream row by row, so memory use does not depend on the size of the catalog.
+ */
+@Service
+@AllArgsConstructor
+@Slf4j
+public class ProductCsvService {
+
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .enable(JsonGenerator.Feature.IGNORE_UNKNOWN)
+            .build();
+    private static final CsvSchema PRODUCT_SCHEMA = CsvSchema.builder()
+            .addColumn("id")
+            .addColumn("name")
+            .addColumn("description")
+            .addColumn("price")
+            .addColumn("quantity")
+            .setUseHeader(true)
+            .build();
+
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final int PRICE_SCALE = 2;
+    private static final int PRICE_INTEGER_DIGITS = 8;
+
+    private final ProductRepository productRepository;
+    private final ProductService productService;
+    private final EntityManager entityManager;
+    private final ProductCsvProperties productCsvProperties;
+
+    @Transactional(readOnly = true)
+    public void exportCsv(OutputStream out) throws IOException {
+        try (SequenceWriter writer = CSV_MAPPER.writer(PRODUCT_SCHEMA).writeValues(out);
+             Stream<Product> products = productRepository.streamAll()) {
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                Product product = iterator.next();
+                writer.write(product);
+                entityManager.detach(product);
+            }
+        }
+    }
+
+    public ProductImportResult importCsv(InputStream csv) throws IOException {
+        ProductImportResult result = new ProductImportResult();
+        int chunkSize = productCsvProperties.getChunkSize();
+        List<Product> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkRows = new ArrayList<>(chunkSize);
+        long row = 1;
+
+        try (MappingIterator<Map<String, String>> rows = CSV_MAPPER.readerForMapOf(String.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .readValues(csv)) {
+            while (rows.hasNextValue()) {
+                row++;
+                Map<String, String> values = rows.nextValue();
+                try {
+                    chunk.add(toProduct(values));
+                    chunkRows.add(row);
+                } catch (IllegalArgumentException e) {
+                    result.reject(row, e.getMessage());
+                }
+                if (chunk.size() == chunkSize) {
+                    writeChunk(chunk, chunkRows, result);
+                }
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Stopped product import at row {}: {}", row, e.getOriginalMessage());
+            result.reject(row, "Malformed CSV: " + e.getOriginalMessage());
+        }
+        writeChunk(chunk, chunkRows, result);
+
+        return result;
+    }
+
+    /**
+     * Upserts the chunk in one transaction. When the database refuses it, the chunk is rolled back and its
+     * rows are retried one by one, so only the rows the database refuses are reported as rejected.
+     */
+    private void writeChunk(List<Product> chunk, List<Long> rows, ProductImportResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            count(productService.upsert(chunk), chunk.size(), result);
+        } catch (DataAccessException e) {
+            log.warn("Product import chunk from row {} failed, retrying its rows one by one: {}", rows.get(0),
+                    e.getMostSpecificCause().getMessage());
+            for (int i = 0; i < chunk.size(); i++) {
+                try {
+                    count(productService.upsert(List.of(chunk.get(i))), 1, result);
+                } catch (DataAccessException rowFailure) {
+                    log.debug("Product import row {} rejected by the database.", rows.get(i), rowFailure);
+                    result.reject(rows.get(i), "Row could not be saved");
+                }
+            }
+        }
+        chunk.clear();
+        rows.clear();
+    }
+
+    private static void count(int created, int written, ProductImportResult result) {
+        result.addCreated(created);
+        result.addUpdated(written - created);
+    }
+
+    private static Product toProduct(Map<String, String> values) {
+        Product product = new Product();
+        product.setId(parse(values, "id", false, Long::valueOf));
+        product.setName(required(values, "name"));
+        if (product.getName().length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException(String.format("Column 'name' must be at most %d characters", MAX_NAME_LENGTH));
+        }
+        product.setDescription(values.get("description"));
+        product.setPrice(parse(values, "price", true, BigDecimal::new));
+        product.setQuantity(parse(values, "quantity", true, Integer::valueOf));
+
+        if (product.getPrice().signum() < 0 || product.getQuantity() < 0) {
+            throw new IllegalArgumentException("Price and quantity must not be negative");
+        }
+        product.setPrice(toPrice(product.getPrice()));
+        return product;
+    }
+
+    /**
+     * Fits the price to the DECIMAL(10, 2) column.
+     */
+    private static BigDecimal toPrice(BigDecimal price) {
+        BigDecimal scaled;
+        try {
+            scaled = price.setScale(PRICE_SCALE, RoundingMode.UNNECESSARY);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(String.format("Price must have at most %d decimals", PRICE_SCALE));
+        }
+        if (scaled.precision() - scaled.scale() > PRICE_INTEGER_DIGITS) {
+            throw new IllegalArgumentException(String.format("Price must have at most %d digits before the decimal point",
+                    PRICE_INTEGER_DIGITS));
+        }
+        return scaled;
+    }
+
+    private static String required(Map<String, String> values, String column) {
+        String value = values.get(column);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(String.format("Column '%s' is required", column));
+        }
+        return value.trim();
+    }
+
+    private static <T> T parse(Map<String, String> values, String column, boolean required, Function<String, T> parser) {
+        String value = values.get(column);
+        if (value == null || value.isBlank()) {
+            if (required) {
+                throw new IllegalArgumentException(String.format("Column '%s' is required", column));
+            }
+            return null;
+        }
+        try {
+            return parser.apply(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("Invalid %s '%s'", column, value));
+        }
+    }
+}
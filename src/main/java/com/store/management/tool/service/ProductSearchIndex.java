@@ -0,0 +1,738 @@
+package com.store.management.tool.service;
+
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.dto.SearchPage;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over product names and descriptions.
+ * <p>
+ * Every query token matches the indexed terms it is a prefix of, and a product must match all query tokens.
+ * Each token adds the weight of its best match to the product's score: a whole word in the name, a prefix
+ * in the name, a whole word in the description, a prefix in the description. Ties are ranked by product id.
+ * <p>
+ * Products are numbered densely and split into blocks of 65536 numbers. Each term keeps, per block it occurs
+ * in, either a sorted array of the numbers or, once the term is common in that block, a bitmap. The union of
+ * all terms starting with a short prefix is kept the same way, so a one to three letter token reads one
+ * posting list instead of every term under it. Queries combine the tokens one block at a time in fixed size
+ * buffers and skip every 64-product word whose best possible score cannot enter the requested page, so only
+ * a small part of a large result set is ever scored product by product.
+ * <p>
+ * Searches do not lock. Updates are serialized and replace the postings of the terms they touch, copying only
+ * the blocks that changed, so a search running concurrently sees each term either before or after the update.
+ */
+public class ProductSearchIndex {
+
+    /**
+     * Results are paged by offset up to here; deeper pages would have to rank offset + size hits per request.
+     */
+    public static final int MAX_OFFSET = 1_000;
+
+    private static final int NAME_EXACT = 6;
+    private static final int NAME_PREFIX = 3;
+    private static final int DESCRIPTION_EXACT = 2;
+    private static final int DESCRIPTION_PREFIX = 1;
+    /**
+     * Tokens up to this length read a precomputed prefix union. Longer tokens are expanded over the terms
+     * sharing their first four or more letters, which are few.
+     */
+    private static final int PREFIX_LENGTH = 3;
+    private static final int BLOCK_SHIFT = 16;
+    private static final int BLOCK_WORDS = 1 << (BLOCK_SHIFT - 6);
+    private static final int LOW_MASK = (1 << BLOCK_SHIFT) - 1;
+    /**
+     * A block holding more numbers than this is stored as a bitmap, which then takes less memory.
+     */
+    private static final int MAX_ARRAY_SIZE = 4096;
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private final Field name = new Field();
+    private final Field description = new Field();
+    private final Map<Long, Integer> ordinals = new ConcurrentHashMap<>();
+    private final List<String[][]> documentTerms = new ArrayList<>();
+    private volatile long[] productIds = new long[1024];
+    private volatile int maxDoc;
+    private volatile boolean idsAscending = true;
+
+    /**
+     * Indexes all products at once, which is much cheaper than adding them one by one. Products should
+     * come in id order so ties are cheap to rank.
+     */
+    public static ProductSearchIndex build(Iterable<Product> products) {
+        ProductSearchIndex index = new ProductSearchIndex();
+        Map<String, IntList> nameDocs = new HashMap<>();
+        Map<String, IntList> namePrefixDocs = new HashMap<>();
+        Map<String, IntList> descriptionDocs = new HashMap<>();
+        Map<String, IntList> descriptionPrefixDocs = new HashMap<>();
+        for (Product product : products) {
+            if (index.ordinals.containsKey(product.getId())) {
+                continue;
+            }
+            int doc = index.newOrdinal(product.getId());
+            String[][] terms = terms(product);
+            index.documentTerms.add(terms);
+            collect(nameDocs, namePrefixDocs, terms[0], doc);
+            collect(descriptionDocs, descriptionPrefixDocs, terms[1], doc);
+        }
+        index.name.load(nameDocs, namePrefixDocs);
+        index.description.load(descriptionDocs, descriptionPrefixDocs);
+        return index;
+    }
+
+    public void put(Product product) {
+        update(List.of(product), List.of());
+    }
+
+    public void remove(Long productId) {
+        update(List.of(), List.of(productId));
+    }
+
+    /**
+     * Adds or replaces {@code products} and drops {@code removedIds}, rewriting each affected term once.
+     */
+    public synchronized void update(Collection<Product> products, Collection<Long> removedIds) {
+        Changes nameChanges = new Changes();
+        Changes descriptionChanges = new Changes();
+
+        for (Long productId : removedIds) {
+            Integer doc = ordinals.remove(productId);
+            if (doc != null) {
+                String[][] old = documentTerms.set(doc, null);
+                nameChanges.record(old[0], doc, false);
+                descriptionChanges.record(old[1], doc, false);
+            }
+        }
+        for (Product product : products) {
+            Integer existing = ordinals.get(product.getId());
+            int doc;
+            if (existing != null) {
+                doc = existing;
+                String[][] old = documentTerms.get(doc);
+                nameChanges.record(old[0], doc, false);
+                descriptionChanges.record(old[1], doc, false);
+            } else {
+                doc = newOrdinal(product.getId());
+                documentTerms.add(null);
+            }
+            String[][] terms = terms(product);
+            documentTerms.set(doc, terms);
+            nameChanges.record(terms[0], doc, true);
+            descriptionChanges.record(terms[1], doc, true);
+        }
+
+        name.apply(nameChanges);
+        description.apply(descriptionChanges);
+    }
+
+    public int size() {
+        return ordinals.size();
+    }
+
+    /**
+     * @param offset at most {@link #MAX_OFFSET}
+     * @return ids of the matching products, best match first
+     */
+    public SearchPage<Long> search(String query, int offset, int size) {
+        if (offset < 0 || offset > MAX_OFFSET) {
+            throw new IllegalArgumentException("Offset must be between 0 and " + MAX_OFFSET);
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be greater than 0");
+        }
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (tokens.isEmpty()) {
+            return new SearchPage<>(List.of(), 0, null);
+        }
+
+        TokenMatch[] tokenMatches = new TokenMatch[tokens.size()];
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            tokenMatches[i] = new TokenMatch(name.terms.get(token), name.matching(token),
+                    description.terms.get(token), description.matching(token));
+            if (tokenMatches[i].inName == null && tokenMatches[i].inDescription == null) {
+                return new SearchPage<>(List.of(), 0, null);
+            }
+        }
+
+        int docs = maxDoc;
+        long[] ids = productIds;
+        int limit = (int) Math.min((long) offset + size, Integer.MAX_VALUE);
+        boolean ascending = idsAscending;
+        PriorityQueue<Hit> top = new PriorityQueue<>(Hit.RANKING.reversed());
+        int total = 0;
+        long[] matches = new long[BLOCK_WORDS];
+        long[] tokenWords = new long[BLOCK_WORDS];
+        for (int block = 0, blocks = (docs + LOW_MASK) >>> BLOCK_SHIFT; block < blocks; block++) {
+            if (!loadBlock(tokenMatches, block, matches, tokenWords)) {
+                continue;
+            }
+            int blockStart = block << BLOCK_SHIFT;
+            for (int w = 0; w < BLOCK_WORDS; w++) {
+                long word = matches[w];
+                if (word == 0) {
+                    continue;
+                }
+                total += Long.bitCount(word);
+
+                Hit lowestHit = top.size() < limit ? null : top.peek();
+                if (lowestHit != null) {
+                    int bound = 0;
+                    for (TokenMatch tokenMatch : tokenMatches) {
+                        bound += tokenMatch.bestScore(w, word);
+                    }
+                    // Later products have larger ids when ids are ascending, so they also lose ties.
+                    if (bound < lowestHit.score || (bound == lowestHit.score && ascending)) {
+                        continue;
+                    }
+                }
+
+                while (word != 0) {
+                    int low = (w << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+
+                    int score = 0;
+                    for (TokenMatch tokenMatch : tokenMatches) {
+                        score += tokenMatch.score(low);
+                    }
+                    long productId = ids[blockStart + low];
+                    Hit lowest = top.peek();
+                    if (top.size() < limit) {
+                        top.offer(new Hit(score, productId));
+                    } else if (lowest != null && (score > lowest.score || (score == lowest.score && productId < lowest.productId))) {
+                        top.poll();
+                        top.offer(new Hit(score, productId));
+                    }
+                }
+            }
+        }
+
+        List<Hit> ranked = new ArrayList<>(top);
+        ranked.sort(Hit.RANKING);
+        List<Long> page = offset >= ranked.size() ? List.of() : ranked.subList(offset, ranked.size()).stream()
+                .map(Hit::productId)
+                .toList();
+        return new SearchPage<>(page, total, total > limit && limit <= MAX_OFFSET ? limit : null);
+    }
+
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase();
+        return SEPARATORS.splitAsStream(normalized)
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Fills {@code matches} with the products of the block matching every token, and each token's per-block
+     * words used for scoring.
+     *
+     * @return false when no product of the block can match
+     */
+    private static boolean loadBlock(TokenMatch[] tokenMatches, int block, long[] matches, long[] tokenWords) {
+        Container[][] containers = new Container[tokenMatches.length][];
+        for (int i = 0; i < tokenMatches.length; i++) {
+            containers[i] = tokenMatches[i].containers(block);
+            if (containers[i] == null) {
+                return false;
+            }
+        }
+        for (int i = 0; i < tokenMatches.length; i++) {
+            tokenMatches[i].load(containers[i]);
+            long[] target = i == 0 ? matches : tokenWords;
+            tokenMatches[i].orMatches(target);
+            if (i > 0) {
+                long any = 0;
+                for (int w = 0; w < BLOCK_WORDS; w++) {
+                    matches[w] &= tokenWords[w];
+                    any |= matches[w];
+                }
+                if (any == 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static String[][] terms(Product product) {
+        return new String[][]{
+                tokenize(product.getName()).stream().distinct().toArray(String[]::new),
+                tokenize(product.getDescription()).stream().distinct().toArray(String[]::new)
+        };
+    }
+
+    /**
+     * The distinct prefixes of up to {@link #PREFIX_LENGTH} letters of the terms.
+     */
+    private static List<String> prefixes(String[] terms) {
+        List<String> prefixes = new ArrayList<>(terms.length * PREFIX_LENGTH);
+        for (String term : terms) {
+            for (int length = 1; length <= Math.min(PREFIX_LENGTH, term.length()); length++) {
+                String prefix = term.substring(0, length);
+                if (!prefixes.contains(prefix)) {
+                    prefixes.add(prefix);
+                }
+            }
+        }
+        return prefixes;
+    }
+
+    private static void collect(Map<String, IntList> termDocs, Map<String, IntList> prefixDocs, String[] terms, int doc) {
+        for (String term : terms) {
+            termDocs.computeIfAbsent(term, t -> new IntList()).add(doc);
+        }
+        for (String prefix : prefixes(terms)) {
+            prefixDocs.computeIfAbsent(prefix, p -> new IntList()).add(doc);
+        }
+    }
+
+    private int newOrdinal(Long productId) {
+        int doc = maxDoc;
+        long[] ids = productIds;
+        if (doc > 0 && ids[doc - 1] >= productId) {
+            idsAscending = false;
+        }
+        if (doc == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+        ids[doc] = productId;
+        productIds = ids;
+        ordinals.put(productId, doc);
+        maxDoc = doc + 1;
+        return doc;
+    }
+
+    private static boolean contains(long[] words, int low) {
+        return (words[low >>> 6] & (1L << low)) != 0;
+    }
+
+    /**
+     * Postings of one field: per term, and per prefix of up to {@link #PREFIX_LENGTH} letters.
+     */
+    private static class Field {
+        private final ConcurrentSkipListMap<String, Postings> terms = new ConcurrentSkipListMap<>();
+        private final Map<String, Postings> prefixes = new ConcurrentHashMap<>();
+
+        void load(Map<String, IntList> termDocs, Map<String, IntList> prefixDocs) {
+            termDocs.forEach((term, docs) -> terms.put(term, Postings.of(docs.toArray())));
+            prefixDocs.forEach((prefix, docs) -> prefixes.put(prefix, Postings.of(docs.toArray())));
+        }
+
+        /**
+         * Products with a term starting with {@code token}, or null when there are none.
+         */
+        Postings matching(String token) {
+            if (token.length() <= PREFIX_LENGTH) {
+                return prefixes.get(token);
+            }
+            Collection<Postings> matching = terms.subMap(token, true, token + Character.MAX_VALUE, false).values();
+            return matching.size() == 1 ? matching.iterator().next() : Postings.union(matching);
+        }
+
+        void apply(Changes changes) {
+            apply(terms, changes.terms);
+            apply(prefixes, changes.prefixes);
+        }
+
+        private static void apply(Map<String, Postings> postings, Map<String, TermChange> changes) {
+            changes.forEach((key, change) -> {
+                Postings updated = Postings.update(postings.get(key), change.added.toSortedSet(), change.removed.toSortedSet());
+                if (updated == null) {
+                    postings.remove(key);
+                } else {
+                    postings.put(key, updated);
+                }
+            });
+        }
+    }
+
+    /**
+     * Terms and prefixes touched by one update. A product that keeps a term is recorded as both removed and
+     * added, which leaves it in place.
+     */
+    private static class Changes {
+        private final Map<String, TermChange> terms = new TreeMap<>();
+        private final Map<String, TermChange> prefixes = new HashMap<>();
+
+        void record(String[] documentTerms, int doc, boolean added) {
+            for (String term : documentTerms) {
+                terms.computeIfAbsent(term, t -> new TermChange()).record(doc, added);
+            }
+            for (String prefix : prefixes(documentTerms)) {
+                prefixes.computeIfAbsent(prefix, p -> new TermChange()).record(doc, added);
+            }
+        }
+    }
+
+    /**
+     * The postings one query token matches, and per block the words of the products matching it in the name,
+     * as a whole name word and as a whole description word.
+     */
+    private static final class TokenMatch {
+        private final Postings nameExact;
+        private final Postings inName;
+        private final Postings descriptionExact;
+        private final Postings inDescription;
+        private final long[] nameExactWords;
+        private final long[] inNameWords = new long[BLOCK_WORDS];
+        private final long[] descriptionExactWords;
+        private final long[] inDescriptionWords = new long[BLOCK_WORDS];
+
+        TokenMatch(Postings nameExact, Postings inName, Postings descriptionExact, Postings inDescription) {
+            this.nameExact = nameExact;
+            this.inName = inName;
+            this.descriptionExact = descriptionExact;
+            this.inDescription = inDescription;
+            this.nameExactWords = nameExact == null ? null : new long[BLOCK_WORDS];
+            this.descriptionExactWords = descriptionExact == null ? null : new long[BLOCK_WORDS];
+        }
+
+        /**
+         * @return the token's containers of the block, in field order, or null when the block has none
+         */
+        Container[] containers(int block) {
+            Container name = inName == null ? null : inName.container(block);
+            Container description = inDescription == null ? null : inDescription.container(block);
+            if (name == null && description == null) {
+                return null;
+            }
+            return new Container[]{
+                    nameExact == null ? null : nameExact.container(block), name,
+                    descriptionExact == null ? null : descriptionExact.container(block), description};
+        }
+
+        void load(Container[] containers) {
+            fill(nameExactWords, containers[0]);
+            fill(inNameWords, containers[1]);
+            fill(descriptionExactWords, containers[2]);
+            fill(inDescriptionWords, containers[3]);
+        }
+
+        void orMatches(long[] target) {
+            for (int w = 0; w < BLOCK_WORDS; w++) {
+                target[w] = inNameWords[w] | inDescriptionWords[w];
+            }
+        }
+
+        int score(int low) {
+            if (contains(inNameWords, low)) {
+                return nameExactWords != null && contains(nameExactWords, low) ? NAME_EXACT : NAME_PREFIX;
+            }
+            return descriptionExactWords != null && contains(descriptionExactWords, low) ? DESCRIPTION_EXACT : DESCRIPTION_PREFIX;
+        }
+
+        int bestScore(int w, long docs) {
+            if (nameExactWords != null && (nameExactWords[w] & docs) != 0) {
+                return NAME_EXACT;
+            }
+            if ((inNameWords[w] & docs) != 0) {
+                return NAME_PREFIX;
+            }
+            if (descriptionExactWords != null && (descriptionExactWords[w] & docs & ~inNameWords[w]) != 0) {
+                return DESCRIPTION_EXACT;
+            }
+            return DESCRIPTION_PREFIX;
+        }
+
+        private static void fill(long[] words, Container container) {
+            if (words == null) {
+                return;
+            }
+            Arrays.fill(words, 0);
+            if (container != null) {
+                container.orInto(words);
+            }
+        }
+    }
+
+    private record Hit(int score, long productId) {
+        static final Comparator<Hit> RANKING = Comparator.comparingInt(Hit::score).reversed()
+                .thenComparingLong(Hit::productId);
+    }
+
+    private static class TermChange {
+        private final IntList added = new IntList();
+        private final IntList removed = new IntList();
+
+        void record(int doc, boolean isAdded) {
+            (isAdded ? added : removed).add(doc);
+        }
+    }
+
+    /**
+     * Immutable set of product numbers for one term or prefix: the blocks it occurs in, in order, each with
+     * its container.
+     */
+    private static final class Postings {
+        private final int[] blocks;
+        private final Container[] containers;
+
+        private Postings(int[] blocks, Container[] containers) {
+            this.blocks = blocks;
+            this.containers = containers;
+        }
+
+        static Postings of(int[] sortedDocs) {
+            return update(null, sortedDocs, new int[0]);
+        }
+
+        Container container(int block) {
+            int index = Arrays.binarySearch(blocks, block);
+            return index < 0 ? null : containers[index];
+        }
+
+        /**
+         * Copies the block and container references and rebuilds only the containers of the blocks that
+         * {@code added} or {@code removed} touch.
+         *
+         * @return null when no product is left
+         */
+        static Postings update(Postings current, int[] added, int[] removed) {
+            int[] currentBlocks = current == null ? new int[0] : current.blocks;
+            Container[] currentContainers = current == null ? new Container[0] : current.containers;
+            int[] touched = touchedBlocks(added, removed);
+
+            int[] blocks = new int[currentBlocks.length + touched.length];
+            Container[] containers = new Container[blocks.length];
+            int size = 0;
+            int c = 0;
+            int t = 0;
+            int a = 0;
+            int r = 0;
+            while (c < currentBlocks.length || t < touched.length) {
+                int block = t == touched.length || (c < currentBlocks.length && currentBlocks[c] < touched[t])
+                        ? currentBlocks[c] : touched[t];
+                Container container = c < currentBlocks.length && currentBlocks[c] == block ? currentContainers[c++] : null;
+                if (t < touched.length && touched[t] == block) {
+                    t++;
+                    int addedEnd = blockEnd(added, a, block);
+                    int removedEnd = blockEnd(removed, r, block);
+                    container = Container.update(container, added, a, addedEnd, removed, r, removedEnd);
+                    a = addedEnd;
+                    r = removedEnd;
+                }
+                if (container != null) {
+                    blocks[size] = block;
+                    containers[size++] = container;
+                }
+            }
+            return size == 0 ? null : new Postings(Arrays.copyOf(blocks, size), Arrays.copyOf(containers, size));
+        }
+
+        /**
+         * Merges the postings of several terms block by block, for a token that is a prefix of all of them.
+         */
+        static Postings union(Collection<Postings> postings) {
+            if (postings.isEmpty()) {
+                return null;
+            }
+            TreeMap<Integer, long[]> words = new TreeMap<>();
+            for (Postings term : postings) {
+                for (int i = 0; i < term.blocks.length; i++) {
+                    term.containers[i].orInto(words.computeIfAbsent(term.blocks[i], block -> new long[BLOCK_WORDS]));
+                }
+            }
+            int[] blocks = new int[words.size()];
+            Container[] containers = new Container[words.size()];
+            int i = 0;
+            for (Map.Entry<Integer, long[]> block : words.entrySet()) {
+                blocks[i] = block.getKey();
+                containers[i++] = Container.of(block.getValue());
+            }
+            return new Postings(blocks, containers);
+        }
+
+        private static int[] touchedBlocks(int[] added, int[] removed) {
+            IntList blocks = new IntList();
+            for (int doc : added) {
+                blocks.add(doc >>> BLOCK_SHIFT);
+            }
+            for (int doc : removed) {
+                blocks.add(doc >>> BLOCK_SHIFT);
+            }
+            return blocks.toSortedSet();
+        }
+
+        private static int blockEnd(int[] docs, int from, int block) {
+            int end = from;
+            while (end < docs.length && docs[end] >>> BLOCK_SHIFT == block) {
+                end++;
+            }
+            return end;
+        }
+    }
+
+    /**
+     * Immutable product numbers of one block, relative to the block start.
+     */
+    private abstract static class Container {
+
+        abstract void orInto(long[] words);
+
+        abstract int cardinality();
+
+        static Container of(long[] words) {
+            int cardinality = 0;
+            for (long word : words) {
+                cardinality += Long.bitCount(word);
+            }
+            if (cardinality == 0) {
+                return null;
+            }
+            if (cardinality > MAX_ARRAY_SIZE) {
+                return new BitmapContainer(words, cardinality);
+            }
+            char[] values = new char[cardinality];
+            int size = 0;
+            for (int w = 0; w < words.length; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    values[size++] = (char) ((w << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values);
+        }
+
+        /**
+         * Applies the removals, then the additions, in {@code [from, to)} of the sorted document arrays.
+         *
+         * @return null when the block is left empty
+         */
+        static Container update(Container current, int[] added, int addedFrom, int addedTo,
+                                int[] removed, int removedFrom, int removedTo) {
+            int cardinality = current == null ? 0 : current.cardinality();
+            if (current instanceof BitmapContainer || cardinality + addedTo - addedFrom > MAX_ARRAY_SIZE) {
+                long[] words = new long[BLOCK_WORDS];
+                if (current != null) {
+                    current.orInto(words);
+                }
+                for (int i = removedFrom; i < removedTo; i++) {
+                    int low = removed[i] & LOW_MASK;
+                    words[low >>> 6] &= ~(1L << low);
+                }
+                for (int i = addedFrom; i < addedTo; i++) {
+                    int low = added[i] & LOW_MASK;
+                    words[low >>> 6] |= 1L << low;
+                }
+                return of(words);
+            }
+
+            char[] values = current == null ? new char[0] : ((ArrayContainer) current).values;
+            char[] merged = new char[values.length + addedTo - addedFrom];
+            int size = 0;
+            int v = 0;
+            int a = addedFrom;
+            int r = removedFrom;
+            while (v < values.length || a < addedTo) {
+                int next;
+                if (a == addedTo || (v < values.length && values[v] < (added[a] & LOW_MASK))) {
+                    next = values[v++];
+                    while (r < removedTo && (removed[r] & LOW_MASK) < next) {
+                        r++;
+                    }
+                    if (r < removedTo && (removed[r] & LOW_MASK) == next) {
+                        continue;
+                    }
+                } else {
+                    next = added[a++] & LOW_MASK;
+                    if (v < values.length && values[v] == next) {
+                        v++;
+                    }
+                }
+                merged[size++] = (char) next;
+            }
+            return size == 0 ? null : new ArrayContainer(Arrays.copyOf(merged, size));
+        }
+    }
+
+    private static final class ArrayContainer extends Container {
+        private final char[] values;
+
+        ArrayContainer(char[] values) {
+            this.values = values;
+        }
+
+        @Override
+        void orInto(long[] words) {
+            for (char low : values) {
+                words[low >>> 6] |= 1L << low;
+            }
+        }
+
+        @Override
+        int cardinality() {
+            return values.length;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        private final long[] words;
+        private final int cardinality;
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        void orInto(long[] target) {
+            for (int w = 0; w < BLOCK_WORDS; w++) {
+                target[w] |= words[w];
+            }
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+    }
+
+    private static class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+
+        int[] toSortedSet() {
+            int[] sorted = toArray();
+            Arrays.sort(sorted);
+            int size = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i == 0 || sorted[i] != sorted[i - 1]) {
+                    sorted[size++] = sorted[i];
+                }
+            }
+            return Arrays.copyOf(sorted, size);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.store.management.tool.service;
+
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.dto.SearchPage;
+import com.store.management.tool.event.ProductsChangedEvent;
+import com.store.management.tool.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Full-text product search. The index is built when the application starts and then follows committed
+ * product changes, so a search only touches the database to load the products of the requested page.
+ */
+@Service
+@AllArgsConstructor
+@Slf4j
+public class ProductSearchService {
+
+    private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+    private final AtomicReference<ProductSearchIndex> index = new AtomicReference<>(new ProductSearchIndex());
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        try (Stream<Product> products = productRepository.streamAll().peek(entityManager::detach)) {
+            index.set(ProductSearchIndex.build(products::iterator));
+        }
+        log.info("Indexed {} products for search.", index.get().size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        if (event.isStockOnly()) {
+            return;
+        }
+        List<Product> products = productRepository.findAllById(event.getProductIds());
+        Set<Long> removed = new HashSet<>(event.getProductIds());
+        products.forEach(product -> removed.remove(product.getId()));
+        index.get().update(products, removed);
+    }
+
+    public SearchPage<Product> search(String query, int offset, int size) {
+        if (offset < 0 || offset > ProductSearchIndex.MAX_OFFSET) {
+            throw new IllegalArgumentException("Offset must be between 0 and " + ProductSearchIndex.MAX_OFFSET);
+        }
+        SearchPage<Long> hits = index.get().search(query, offset, size);
+        if (hits.getItems().isEmpty()) {
+            return new SearchPage<>(List.of(), hits.getTotal(), hits.getNext());
+        }
+
+        Map<Long, Product> products = productRepository.findAllById(hits.getItems()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<Product> items = hits.getItems().stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new SearchPage<>(items, hits.getTotal(), hits.getNext());
+    }
+}
@@ -1,49 +1,206 @@
 package com.store.management.tool.service;
 
+import com.store.management.tool.config.CacheConfig;
 import com.store.management.tool.domain.Product;
+import com.store.management.tool.dto.CursorPage;
+import com.store.management.tool.dto.EntityVersion;
+import com.store.management.tool.dto.StockMovement;
+import com.store.management.tool.event.ProductsChangedEvent;
+import com.store.management.tool.event.StockMovedEvent;
+import com.store.management.tool.exception.PreconditionFailedException;
 import com.store.management.tool.exception.ResourceNotFoundException;
 import com.store.management.tool.repository.ProductRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
 @Slf4j
+@Timed("service.duration")
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockMetrics stockMetrics;
 
     public Product add(Product product) {
+        requireQuantity(product);
         Product newProduct = productRepository.save(product);
         log.info("Successfully added new product {}.", product.getId());
+        eventPublisher.publishEvent(new ProductsChangedEvent(List.of(newProduct.getId())));
+        publishAdjustments(Map.of(newProduct.getId(), newProduct.getQuantity()));
         return newProduct;
     }
 
-    public List<Product> getAll() {
-        log.info("Retrieving all products.");
-        return productRepository.findAll();
+    public CursorPage<Product> getAll(Long after, int size) {
+        log.debug("Retrieving products after id {}, page size {}.", after, size);
+        List<Product> products = productRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, Limit.of(size + 1));
+        return CursorPage.of(products, size, Product::getId);
     }
 
+    /**
+     * Ids and versions of the page {@link #getAll} would return, read without loading the products.
+     */
+    public CursorPage<EntityVersion> getVersions(Long after, int size) {
+        List<EntityVersion> versions = productRepository.findVersionsByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, Limit.of(size + 1));
+        return CursorPage.of(versions, size, EntityVersion::getId);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS, sync = true)
     public Product getById(Long id) throws ResourceNotFoundException {
-        log.info("Retrieving product by id: {}", id);
+        log.debug("Retrieving product by id: {}", id);
         return productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(String.format("Product with id %d not found", id)));
     }
 
     public Product update(Long id, Product updatedProduct) throws ResourceNotFoundException {
+        return update(id, updatedProduct, null);
+    }
+
+    /**
+     * Updates the product only if it is still at the expected version; null updates unconditionally. A change
+     * committed between the check and the save fails the save with an optimistic locking conflict.
+     *
+     * @throws PreconditionFailedException when the product changed since the caller read it
+     */
+    public Product update(Long id, Product updatedProduct, Long expectedVersion) throws ResourceNotFoundException {
         log.info("Updating product with id: {}", id);
+        requireQuantity(updatedProduct);
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(String.format("Product with id %d not found", id)));
+        if (expectedVersion != null && !expectedVersion.equals(product.getVersion())) {
+            throw new PreconditionFailedException(String.format("Product %d was modified concurrently", id));
+        }
 
+        int stockDelta = updatedProduct.getQuantity() - product.getQuantity();
         product.setName(updatedProduct.getName());
         product.setDescription(updatedProduct.getDescription());
         product.setPrice(updatedProduct.getPrice());
         product.setQuantity(updatedProduct.getQuantity());
 
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductsChangedEvent(List.of(id)));
+        publishAdjustments(Map.of(id, stockDelta));
+        return savedProduct;
+    }
+
+    /**
+     * Creates or updates a chunk of products in one transaction. A product is matched by id first and then
+     * by name; unmatched products are created with a new id.
+     *
+     * @return the number of products created, the rest were updated
+     */
+    @Transactional
+    public int upsert(List<Product> products) {
+        List<Long> ids = products.stream().map(Product::getId).filter(Objects::nonNull).toList();
+        Map<Long, Product> existingById = productRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<String> names = products.stream().map(Product::getName).toList();
+        Map<String, Product> existingByName = new HashMap<>();
+        productRepository.findByNameIn(names).stream()
+                .sorted(Comparator.comparing(Product::getId))
+                .forEach(product -> existingByName.putIfAbsent(product.getName(), product));
+
+        List<Product> toSave = new ArrayList<>(products.size());
+        Map<Product, Integer> stockDeltas = new HashMap<>();
+        int created = 0;
+        for (Product row : products) {
+            requireQuantity(row);
+            Product product = row.getId() != null ? existingById.get(row.getId()) : null;
+            if (product == null) {
+                product = existingByName.get(row.getName());
+            }
+            if (product == null) {
+                product = new Product();
+                existingByName.put(row.getName(), product);
+                created++;
+            }
+            int previousQuantity = product.getQuantity() == null ? 0 : product.getQuantity();
+            stockDeltas.merge(product, row.getQuantity() - previousQuantity, Integer::sum);
+            product.setName(row.getName());
+            product.setDescription(row.getDescription());
+            product.setPrice(row.getPrice());
+            product.setQuantity(row.getQuantity());
+            toSave.add(product);
+        }
+
+        List<Product> saved = productRepository.saveAll(toSave);
+        eventPublisher.publishEvent(new ProductsChangedEvent(saved.stream().map(Product::getId).distinct().toList()));
+        Map<Long, Integer> adjustments = new TreeMap<>();
+        stockDeltas.forEach((product, delta) -> adjustments.put(product.getId(), delta));
+        publishAdjustments(adjustments);
+        log.info("Imported {} products: {} created, {} updated.", products.size(), created, products.size() - created);
+        return created;
+    }
+
+    /**
+     * Loads and locks the given products in ascending id order until the caller's transaction ends.
+     */
+    @Transactional
+    public List<Product> getAllForUpdate(Collection<Long> ids) {
+        return productRepository.findAllForUpdate(ids);
+    }
+
+    /**
+     * Locks the requested products in ascending id order and decrements their stock with a single
+     * conditional batch update. Must run inside the caller's transaction, so a rejected line rolls back
+     * every decrement of the order. Unknown product ids are ignored; the caller can tell them apart by
+     * the returned products.
+     */
+    @Transactional
+    public List<Product> decreaseStock(Map<Long, Integer> requestedStock) {
+        List<Product> products = productRepository.findAllForUpdate(requestedStock.keySet());
+
+        SortedMap<Long, Integer> availableStock = new TreeMap<>();
+        products.forEach(product -> availableStock.put(product.getId(), requestedStock.get(product.getId())));
+
+        List<Long> rejected = productRepository.decreaseStock(availableStock);
+        if (!rejected.isEmpty()) {
+            stockMetrics.orderRejected();
+            log.debug("Insufficient stock to fulfill order for products {}", rejected);
+            throw new IllegalArgumentException("Insufficient stock to fulfill order");
+        }
+        log.debug("Stock updated for products {}", availableStock);
+        eventPublisher.publishEvent(new ProductsChangedEvent(List.copyOf(availableStock.keySet()), true));
+
+        return products;
+    }
+
+    /**
+     * The stock movement journal records every change of quantity, so a product cannot be saved without one.
+     */
+    private static void requireQuantity(Product product) {
+        if (product.getQuantity() == null) {
+            throw new IllegalArgumentException("Product quantity is required");
+        }
+    }
+
+    private void publishAdjustments(Map<Long, Integer> stockDeltas) {
+        List<StockMovement> movements = stockDeltas.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .map(entry -> StockMovement.adjustment(entry.getKey(), entry.getValue()))
+                .toList();
+        if (!movements.isEmpty()) {
+            eventPublisher.publishEvent(new StockMovedEvent(movements));
+        }
     }
 
     public void delete(Long id) throws ResourceNotFoundException {
@@ -52,6 +209,7 @@ public class ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException(String.format("Product with id %d not found", id)));
 
         productRepository.delete(productToDelete);
+        eventPublisher.publishEvent(new ProductsChangedEvent(List.of(id)));
         log.info("User {} deleted successfully", id);
     }
 }
@@ -0,0 +1,47 @@
+package com.store.management.tool.service;
+
+import com.store.management.tool.dto.DailySales;
+import com.store.management.tool.dto.ProductSales;
+import com.store.management.tool.dto.SalesReport;
+import com.store.management.tool.repository.SalesRollupRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+@Slf4j
+public class SalesReportService {
+
+    private final SalesRollupRepository salesRollupRepository;
+
+    /**
+     * Reads only the daily rollups, so the cost depends on the number of days and products in the range
+     * rather than on the number of orders.
+     */
+    @Transactional(readOnly = true)
+    public SalesReport getSales(LocalDate from, LocalDate to, int top) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Report start date must not be after its end date");
+        }
+        log.info("Building sales report from {} to {}.", from, to);
+
+        List<DailySales> days = salesRollupRepository.findDaily(from, to);
+        List<ProductSales> topProducts = salesRollupRepository.findProductSales(from, to, top);
+
+        long orders = 0;
+        long units = 0;
+        BigDecimal revenue = BigDecimal.ZERO;
+        for (DailySales day : days) {
+            orders += day.getOrders();
+            units += day.getUnits();
+            revenue = revenue.add(day.getRevenue());
+        }
+        return new SalesReport(from, to, orders, units, revenue, days, topProducts);
+    }
+}
@@ -0,0 +1,202 @@
+package com.store.management.tool.service;
+
+import com.store.management.tool.config.StockJournalProperties;
+import com.store.management.tool.dto.StockDiscrepancy;
+import com.store.management.tool.dto.StockLevel;
+import com.store.management.tool.dto.StockMovement;
+import com.store.management.tool.event.StockMovedEvent;
+import com.store.management.tool.exception.ServiceUnavailableException;
+import com.store.management.tool.repository.StockMovementRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Records committed stock movements. Request threads only enqueue them; a single writer drains the queue
+ * and inserts the movements in batches, one transaction per batch.
+ */
+@Service
+@Slf4j
+public class StockJournal {
+
+    private static final long RETRY_DELAY_MS = 1000;
+
+    private final StockMovementRepository stockMovementRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<StockMovement> queue;
+    private final int batchSize;
+    private final Duration flushTimeout;
+    /**
+     * Movements queued so far. Assigned under {@link #enqueueLock} together with the offer, so the n-th queued
+     * movement is also the n-th the writer takes.
+     */
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final ReentrantLock enqueueLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Condition flushed = flushLock.newCondition();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public StockJournal(StockMovementRepository stockMovementRepository, PlatformTransactionManager transactionManager,
+                        StockJournalProperties properties, MeterRegistry meterRegistry) {
+        this.stockMovementRepository = stockMovementRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.batchSize = properties.getBatchSize();
+        this.flushTimeout = properties.getFlushTimeout();
+
+        Gauge.builder("stock.journal.queue.size", queue, BlockingQueue::size)
+                .description("Stock movements waiting to be written to the journal")
+                .register(meterRegistry);
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("stock-journal-");
+        threadFactory.setDaemon(true);
+        this.writer = threadFactory.newThread(this::drain);
+        this.writer.start();
+    }
+
+    /**
+     * Runs after the publishing transaction commits, so rolled back stock changes are never journalled.
+     * When the writer has fallen a full queue behind, the movements are written on the calling thread.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockMoved(StockMovedEvent event) {
+        List<StockMovement> overflow = null;
+        enqueueLock.lock();
+        try {
+            for (StockMovement movement : event.getMovements()) {
+                if (queue.offer(movement)) {
+                    enqueued.incrementAndGet();
+                } else {
+                    if (overflow == null) {
+                        overflow = new ArrayList<>();
+                    }
+                    overflow.add(movement);
+                }
+            }
+        } finally {
+            enqueueLock.unlock();
+        }
+        if (overflow != null) {
+            log.warn("Stock journal queue is full, writing {} movements inline.", overflow.size());
+            write(overflow);
+        }
+    }
+
+    /**
+     * Blocks until the movements enqueued before the call have been written; movements enqueued while waiting
+     * do not hold it up. Waits on a lock condition rather than a monitor, which would pin a virtual caller to
+     * its carrier thread for the whole wait.
+     *
+     * @throws ServiceUnavailableException when the writer does not get there within the flush timeout
+     */
+    public void flush() {
+        long target = enqueued.get();
+        long remaining = flushTimeout.toNanos();
+        flushLock.lock();
+        try {
+            while (written.get() < target) {
+                if (remaining <= 0) {
+                    log.warn("Stock journal is {} movements behind, giving up on flush.", target - written.get());
+                    throw new ServiceUnavailableException("Stock journal is behind. Please retry.");
+                }
+                remaining = flushed.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Stock journal flush interrupted.");
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public StockLevel getStockAt(Long productId, Instant at) {
+        flush();
+        return new StockLevel(productId, at, stockMovementRepository.quantityAt(productId, at));
+    }
+
+    /**
+     * Products whose stored quantity differs from the sum of their journalled movements.
+     */
+    public List<StockDiscrepancy> findDiscrepancies() {
+        flush();
+        return stockMovementRepository.findDiscrepancies();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        if (!queue.isEmpty()) {
+            log.error("Stock journal stopped with {} movements not written.", queue.size());
+        }
+    }
+
+    private void drain() {
+        List<StockMovement> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                StockMovement first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeWithRetry(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                written.addAndGet(batch.size());
+                batch.clear();
+                flushLock.lock();
+                try {
+                    flushed.signalAll();
+                } finally {
+                    flushLock.unlock();
+                }
+            }
+        }
+    }
+
+    private void writeWithRetry(List<StockMovement> batch) throws InterruptedException {
+        while (true) {
+            try {
+                write(batch);
+                log.debug("Journalled {} stock movements.", batch.size());
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    log.error("Dropping {} stock movements during shutdown.", batch.size(), e);
+                    return;
+                }
+                log.warn("Failed to journal {} stock movements, retrying.", batch.size(), e);
+                Thread.sleep(RETRY_DELAY_MS);
+            }
+        }
+    }
+
+    private void write(List<StockMovement> movements) {
+        transactionTemplate.executeWithoutResult(status -> stockMovementRepository.insert(movements));
+    }
+}
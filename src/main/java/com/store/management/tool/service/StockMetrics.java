@@ -0,0 +1,50 @@
+package com.store.management.tool.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counters for orders that could not take stock, registered once so the order path only increments them.
+ */
+@Component
+public class StockMetrics {
+
+    private final Counter orderRejections;
+    private final Counter batchRejections;
+    private final Counter conflicts;
+    private final Counter exhaustedConflicts;
+
+    public StockMetrics(MeterRegistry meterRegistry) {
+        this.orderRejections = Counter.builder("stock.insufficient")
+                .description("Orders rejected because a product did not have enough stock")
+                .tag("source", "order")
+                .register(meterRegistry);
+        this.batchRejections = Counter.builder("stock.insufficient")
+                .description("Orders rejected because a product did not have enough stock")
+                .tag("source", "batch")
+                .register(meterRegistry);
+        this.conflicts = Counter.builder("stock.update.conflicts")
+                .description("Stock updates that lost a lock or deadlocked against a concurrent transaction")
+                .register(meterRegistry);
+        this.exhaustedConflicts = Counter.builder("stock.update.conflicts.exhausted")
+                .description("Stock updates that still conflicted after the last retry")
+                .register(meterRegistry);
+    }
+
+    public void orderRejected() {
+        orderRejections.increment();
+    }
+
+    public void batchRejected() {
+        batchRejections.increment();
+    }
+
+    public void conflict() {
+        conflicts.increment();
+    }
+
+    public void conflictExhausted() {
+        exhaustedConflicts.increment();
+    }
+}
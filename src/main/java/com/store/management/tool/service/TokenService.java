@@ -0,0 +1,52 @@
+package com.store.management.tool.service;
+
+import com.store.management.tool.config.TokenProperties;
+import com.store.management.tool.dto.TokenResponse;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+@Service
+@AllArgsConstructor
+@Slf4j
+public class TokenService {
+
+    public static final String ROLE_CLAIM = "role";
+
+    private final JwtEncoder jwtEncoder;
+    private final TokenProperties tokenProperties;
+
+    /**
+     * Issues a short-lived token for an already authenticated user. The token carries the email as subject
+     * and the user role, so later requests are authorized without loading the user again.
+     */
+    public TokenResponse issue(Authentication authentication) {
+        Instant now = Instant.now();
+        String role = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("User has no role"));
+
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer(tokenProperties.getIssuer())
+                .subject(authentication.getName())
+                .issuedAt(now)
+                .expiresAt(now.plus(tokenProperties.getTtl()))
+                .claim(ROLE_CLAIM, role)
+                .build();
+        JwsHeader header = JwsHeader.with(MacAlgorithm.HS256).build();
+
+        String token = jwtEncoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+        log.debug("Issued token for {}.", authentication.getName());
+        return new TokenResponse(token, "Bearer", tokenProperties.getTtl().toSeconds());
+    }
+}
@@ -1,51 +1,67 @@
 package com.store.management.tool.service;
 
+import com.store.management.tool.config.CacheConfig;
 import com.store.management.tool.domain.User;
+import com.store.management.tool.dto.CursorPage;
 import com.store.management.tool.exception.DuplicateResourceException;
 import com.store.management.tool.exception.ResourceNotFoundException;
 import com.store.management.tool.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @AllArgsConstructor
 @Slf4j
+@Timed("service.duration")
 public class UserService {
     private final UserRepository userRepository;
+    private final PasswordHashingService passwordHashingService;
 
     public User add(User user)  {
         if (userRepository.existsByEmail(user.getEmail())) {
             throw new DuplicateResourceException("User with email '" + user.getEmail() + "' already exists.");
         }
-        var encodedPassword = this.encodedPassword(user.getPassword());
+        var encodedPassword = passwordHashingService.hash(user.getPassword());
         user.setPassword(encodedPassword);
         User newUser = userRepository.save(user);
         log.info("Successfully added new user {} with email {}.", newUser.getId(), newUser.getEmail());
         return newUser;
     }
 
-    public List<User> getAll() {
-        log.info("Retrieving all users.");
-        return userRepository.findAll();
+    public CursorPage<User> getAll(Long after, int size) {
+        log.debug("Retrieving users after id {}, page size {}.", after, size);
+        List<User> users = userRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, Limit.of(size + 1));
+        return CursorPage.of(users, size, User::getId);
     }
 
+    @Cacheable(cacheNames = CacheConfig.USERS, sync = true)
     public User getById(Long id) throws ResourceNotFoundException {
-        log.info("Retrieving user by id: {}", id);
+        log.debug("Retrieving user by id: {}", id);
         return userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(String.format("User with id: %d not found", id)));
     }
 
+    public Set<Long> getExistingIds(Collection<Long> ids) {
+        return userRepository.findExistingIds(ids);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
     public User update(Long id, User userDetails) throws ResourceNotFoundException {
         log.info("Updating user with id: {}", id);
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(String.format("User with id: %d not found", id)));
 
         user.setEmail(userDetails.getEmail());
-        var passwordEncoded = this.encodedPassword(userDetails.getPassword());
+        var passwordEncoded = passwordHashingService.hashIfChanged(userDetails.getPassword(), user.getPassword());
         user.setPassword(passwordEncoded);
         user.setFirstName(userDetails.getFirstName());
         user.setLastName(userDetails.getLastName());
@@ -54,6 +70,7 @@ public class UserService {
         return userRepository.save(user);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
     public void delete(Long id) throws ResourceNotFoundException {
         log.info("Deleting user with id: {}", id);
         User userToDelete = userRepository.findById(id)
@@ -62,9 +79,4 @@ public class UserService {
         userRepository.delete(userToDelete);
         log.info("User {} deleted successfully", id);
     }
-
-    private String encodedPassword(String password) {
-        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
-        return passwordEncoder.encode(password);
-    }
 }
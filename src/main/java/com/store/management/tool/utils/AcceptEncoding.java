@@ -0,0 +1,60 @@
+package com.store.management.tool.utils;
+
+import java.util.Locale;
+
+/**
+ * Content negotiation on the {@code Accept-Encoding} request header (RFC 9110, section 12.5.3).
+ */
+public final class AcceptEncoding {
+
+    private static final String GZIP = "gzip";
+    private static final String X_GZIP = "x-gzip";
+    private static final String ANY = "*";
+
+    private AcceptEncoding() {
+    }
+
+    /**
+     * Whether the client accepts a gzip body. A coding named explicitly wins over {@code *}, a weight of
+     * {@code q=0} refuses the coding, and an unparsable weight counts as a refusal. Without the header the
+     * body is sent uncompressed.
+     */
+    public static boolean acceptsGzip(String header) {
+        if (header == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String element : header.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (coding.equals(GZIP) || coding.equals(X_GZIP)) {
+                gzip = max(gzip, weight(parts));
+            } else if (coding.equals(ANY)) {
+                any = max(any, weight(parts));
+            }
+        }
+        Double resolved = gzip != null ? gzip : any;
+        return resolved != null && resolved > 0;
+    }
+
+    private static double weight(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.length() > 2 && (parameter.charAt(0) == 'q' || parameter.charAt(0) == 'Q')
+                    && parameter.charAt(1) == '=') {
+                try {
+                    double q = Double.parseDouble(parameter.substring(2).trim());
+                    return q >= 0 && q <= 1 ? q : 0;
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static Double max(Double current, double weight) {
+        return current == null ? weight : Math.max(current, weight);
+    }
+}
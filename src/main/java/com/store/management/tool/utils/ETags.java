@@ -0,0 +1,82 @@
+package com.store.management.tool.utils;
+
+import com.store.management.tool.dto.CursorPage;
+import com.store.management.tool.exception.PreconditionFailedException;
+
+import java.util.function.Function;
+
+/**
+ * Strong ETags derived from optimistic lock versions.
+ */
+public final class ETags {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ETags() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Hashes the id and version of every item and the next cursor, so the tag changes whenever an item of
+     * the page changes, or an item enters or leaves the page.
+     */
+    public static <T> String ofPage(CursorPage<T> page, Function<T, Long> id, Function<T, Long> version) {
+        long hash = FNV_OFFSET_BASIS;
+        for (T item : page.getItems()) {
+            hash = mix(hash, id.apply(item));
+            hash = mix(hash, version.apply(item));
+        }
+        return finish(hash, page.getItems().size(), page.getNext());
+    }
+
+    /**
+     * The tag {@link #ofPage(CursorPage, Function, Function)} gives the page made of the items {@code from}
+     * (inclusive) to {@code to} (exclusive) of parallel id and version arrays.
+     */
+    public static String ofPage(long[] ids, long[] versions, int from, int to, Long next) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = from; i < to; i++) {
+            hash = mix(hash, ids[i]);
+            hash = mix(hash, versions[i]);
+        }
+        return finish(hash, to - from, next);
+    }
+
+    /**
+     * Reads the version an {@code If-Match} header expects.
+     *
+     * @return null when the header is missing or is {@code *}, so the update is unconditional
+     * @throws PreconditionFailedException when the header is not a single ETag of this API
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // fall through: a tag we never issued cannot match
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not match the current version");
+    }
+
+    private static String finish(long hash, int size, Long next) {
+        hash = mix(hash, next == null ? -1L : next);
+        return "\"" + size + "-" + Long.toHexString(hash) + "\"";
+    }
+
+    private static long mix(long hash, long value) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash ^= (value >>> (i * 8)) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
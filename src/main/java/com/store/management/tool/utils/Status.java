@@ -3,5 +3,14 @@ package com.store.management.tool.utils;
 public enum Status {
     NEW,
     IN_PROGRESS,
-    DELIVERED
+    DELIVERED;
+
+    /**
+     * Status an order must be in to move to this one; orders only move forward, one step at a time.
+     *
+     * @return null for {@link #NEW}, which no order moves to
+     */
+    public Status previous() {
+        return ordinal() == 0 ? null : values()[ordinal() - 1];
+    }
 }
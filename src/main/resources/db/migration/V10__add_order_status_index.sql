@@ -0,0 +1,2 @@
+-- Bulk status transitions and status filters select orders by status, and page or lock them in id order.
+CREATE INDEX IF NOT EXISTS idx_order_store_status_id ON order_store (status, id);
@@ -0,0 +1,5 @@
+-- Filtered order searches are paged by id, so each index leads with the filtered column and ends with id.
+-- Status filters use idx_order_store_status_id from V10.
+CREATE INDEX IF NOT EXISTS idx_order_store_user_id ON order_store (id_user, id);
+CREATE INDEX IF NOT EXISTS idx_order_store_date_id ON order_store (order_date, id);
+CREATE INDEX IF NOT EXISTS idx_order_store_subtotal_id ON order_store (subtotal, id);
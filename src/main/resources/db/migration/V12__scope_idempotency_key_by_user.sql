@@ -0,0 +1,11 @@
+-- Idempotency keys are scoped to the user placing the order and remember a hash of the request, so another
+-- user, or another payload, cannot replay an existing order by reusing a key.
+ALTER TABLE idempotency_key ADD COLUMN IF NOT EXISTS user_id BIGINT;
+ALTER TABLE idempotency_key ADD COLUMN IF NOT EXISTS request_hash VARCHAR(64);
+UPDATE idempotency_key SET user_id = (SELECT id_user FROM order_store WHERE order_store.id = idempotency_key.order_id);
+-- Keys of orders deleted since can no longer be attributed to a user.
+DELETE FROM idempotency_key WHERE user_id IS NULL;
+ALTER TABLE idempotency_key ALTER COLUMN user_id SET NOT NULL;
+-- Keys claimed before this migration have no request hash; they replay as before until they expire.
+ALTER TABLE idempotency_key DROP PRIMARY KEY;
+ALTER TABLE idempotency_key ADD PRIMARY KEY (user_id, idempotency_key);
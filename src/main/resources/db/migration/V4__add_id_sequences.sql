@@ -0,0 +1,9 @@
+-- Pooled sequences let Hibernate assign ids without a round trip per insert, so inserts can be JDBC batched.
+-- Hibernate's pooled optimizer treats each value as the top of a block of 50 ids, so every sequence starts at
+-- MAX(id) + 50: the first block then begins right after the rows already in the table, whatever their number.
+CREATE SEQUENCE IF NOT EXISTS user_store_seq INCREMENT BY 50;
+ALTER SEQUENCE user_store_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM user_store);
+CREATE SEQUENCE IF NOT EXISTS product_seq INCREMENT BY 50;
+ALTER SEQUENCE product_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM product);
+CREATE SEQUENCE IF NOT EXISTS order_store_seq INCREMENT BY 50;
+ALTER SEQUENCE order_store_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM order_store);
@@ -0,0 +1,13 @@
+-- Order lines keep the quantity and the unit price at the time of purchase, so totals can be computed in SQL.
+-- Lines created before this migration get a quantity of 1 and the product's current price.
+ALTER TABLE order_product ADD COLUMN quantity INT NOT NULL DEFAULT 1;
+ALTER TABLE order_product ADD COLUMN unit_price DECIMAL(10, 2);
+UPDATE order_product SET unit_price = (SELECT price FROM product WHERE product.id = order_product.product_id);
+ALTER TABLE order_product ALTER COLUMN unit_price SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_order_product_order_id ON order_product (order_id);
+CREATE INDEX IF NOT EXISTS idx_order_product_product_id ON order_product (product_id);
+
+-- Starts at MAX(id) + 50 for the same reason as the sequences of V4.
+CREATE SEQUENCE IF NOT EXISTS order_product_seq INCREMENT BY 50;
+ALTER SEQUENCE order_product_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM order_product);
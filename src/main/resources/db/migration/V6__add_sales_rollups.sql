@@ -0,0 +1,26 @@
+-- Sales per day and per product per day, maintained incrementally by the order service.
+CREATE TABLE IF NOT EXISTS sales_daily (
+    sales_date      DATE PRIMARY KEY,
+    orders          BIGINT NOT NULL,
+    units           BIGINT NOT NULL,
+    revenue         DECIMAL(14, 2) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS sales_daily_product (
+    sales_date      DATE NOT NULL,
+    product_id      BIGINT NOT NULL,
+    units           BIGINT NOT NULL,
+    revenue         DECIMAL(14, 2) NOT NULL,
+
+    PRIMARY KEY (sales_date, product_id)
+);
+
+INSERT INTO sales_daily (sales_date, orders, units, revenue)
+SELECT o.order_date, COUNT(DISTINCT o.id), SUM(l.quantity), SUM(l.quantity * l.unit_price)
+FROM order_store o JOIN order_product l ON l.order_id = o.id
+GROUP BY o.order_date;
+
+INSERT INTO sales_daily_product (sales_date, product_id, units, revenue)
+SELECT o.order_date, l.product_id, SUM(l.quantity), SUM(l.quantity * l.unit_price)
+FROM order_store o JOIN order_product l ON l.order_id = o.id
+GROUP BY o.order_date, l.product_id;
@@ -0,0 +1,16 @@
+-- Append-only journal of stock changes. Rows with an order id come from orders, the rest are catalog adjustments.
+CREATE TABLE IF NOT EXISTS stock_movement (
+    id              BIGSERIAL PRIMARY KEY,
+    product_id      BIGINT NOT NULL,
+    delta           INT NOT NULL,
+    order_id        BIGINT,
+    moved_at        TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_stock_movement_product ON stock_movement (product_id, moved_at);
+
+-- Opening balance for the existing catalog, so the journal sums to the current stock.
+INSERT INTO stock_movement (product_id, delta, order_id, moved_at)
+SELECT id, quantity, NULL, CURRENT_TIMESTAMP
+FROM product
+WHERE quantity <> 0;
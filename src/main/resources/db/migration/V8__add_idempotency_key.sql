@@ -0,0 +1,8 @@
+-- Idempotency keys of created orders, kept for the retention window so client retries replay the first result.
+CREATE TABLE IF NOT EXISTS idempotency_key (
+    idempotency_key     VARCHAR(255) PRIMARY KEY,
+    order_id            BIGINT NOT NULL,
+    created_at          TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_key_created_at ON idempotency_key (created_at);
@@ -0,0 +1,3 @@
+-- Optimistic lock versions, also exposed to clients as ETags.
+ALTER TABLE product ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE order_store ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1 @@
+DROP INDEX IF EXISTS idx_order_store_status_id;
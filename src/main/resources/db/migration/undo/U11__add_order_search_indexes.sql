@@ -0,0 +1,3 @@
+DROP INDEX IF EXISTS idx_order_store_subtotal_id;
+DROP INDEX IF EXISTS idx_order_store_date_id;
+DROP INDEX IF EXISTS idx_order_store_user_id;
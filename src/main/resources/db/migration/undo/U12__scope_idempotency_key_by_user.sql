@@ -0,0 +1,5 @@
+DELETE FROM idempotency_key;
+ALTER TABLE idempotency_key DROP PRIMARY KEY;
+ALTER TABLE idempotency_key ADD PRIMARY KEY (idempotency_key);
+ALTER TABLE idempotency_key DROP COLUMN IF EXISTS request_hash;
+ALTER TABLE idempotency_key DROP COLUMN IF EXISTS user_id;
@@ -0,0 +1,3 @@
+DROP SEQUENCE IF EXISTS order_store_seq;
+DROP SEQUENCE IF EXISTS product_seq;
+DROP SEQUENCE IF EXISTS user_store_seq;
\ No newline at end of file
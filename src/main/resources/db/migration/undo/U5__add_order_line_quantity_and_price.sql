@@ -0,0 +1,5 @@
+DROP SEQUENCE IF EXISTS order_product_seq;
+DROP INDEX IF EXISTS idx_order_product_product_id;
+DROP INDEX IF EXISTS idx_order_product_order_id;
+ALTER TABLE order_product DROP COLUMN unit_price;
+ALTER TABLE order_product DROP COLUMN quantity;
@@ -0,0 +1,2 @@
+DROP TABLE IF EXISTS sales_daily_product;
+DROP TABLE IF EXISTS sales_daily;
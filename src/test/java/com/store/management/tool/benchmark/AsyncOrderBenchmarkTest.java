@@ -0,0 +1,164 @@
+package com.store.management.tool.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.dto.OrderBatchResult;
+import com.store.management.tool.dto.OrderTicket;
+import com.store.management.tool.service.AsyncOrderService;
+import com.store.management.tool.service.ProductService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Places the same flash-sale burst through the synchronous POST /api/orders and through the asynchronous
+ * POST /api/orders/async, reporting request latency percentiles and end-to-end throughput. For the async
+ * path the clock stops once every ticket has been resolved.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class AsyncOrderBenchmarkTest {
+
+    private static final int ORDERS = 2_000;
+    private static final int PRODUCTS = 5;
+    private static final int THREADS = 16;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private AsyncOrderService asyncOrderService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void compareSyncAndAsyncOrders() throws Exception {
+        List<Long> productIds = seedProducts();
+        List<String> orders = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            orders.add(anOrder(productIds.get(i % PRODUCTS), productIds.get((i + 1) % PRODUCTS)));
+        }
+
+        Run sync = send(orders, "/api/orders", 201);
+        Run async = send(orders, "/api/orders/async", 202);
+        long asyncElapsed = awaitTickets(async) - async.start;
+
+        double syncThroughput = ORDERS / (sync.elapsedNanos / 1_000_000_000.0);
+        double asyncThroughput = ORDERS / (asyncElapsed / 1_000_000_000.0);
+        System.out.printf("async order benchmark: sync=%.1f orders/s p50=%.1fms p99=%.1fms, "
+                        + "async=%.1f orders/s accept p50=%.1fms p99=%.1fms%n",
+                syncThroughput, sync.percentile(50), sync.percentile(99),
+                asyncThroughput, async.percentile(50), async.percentile(99));
+        assertTrue(asyncThroughput > syncThroughput);
+        assertTrue(async.percentile(99) < sync.percentile(99));
+    }
+
+    private Run send(List<String> orders, String path, int expectedStatus) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Long>> futures = new ArrayList<>(orders.size());
+        Run run = new Run(orders.size());
+        for (String order : orders) {
+            HttpRequest request = HttpRequest.newBuilder(uri(path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(order))
+                    .build();
+            futures.add(executor.submit(() -> {
+                long sent = System.nanoTime();
+                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                long latency = System.nanoTime() - sent;
+                assertEquals(expectedStatus, response.statusCode());
+                if (expectedStatus == 202) {
+                    synchronized (run.ticketIds) {
+                        run.ticketIds.add(objectMapper.readTree(response.body()).get("id").asText());
+                    }
+                }
+                return latency;
+            }));
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            run.latencies[i] = futures.get(i).get();
+        }
+        run.elapsedNanos = System.nanoTime() - run.start;
+        executor.shutdown();
+        return run;
+    }
+
+    private long awaitTickets(Run run) throws Exception {
+        for (String ticketId : run.ticketIds) {
+            OrderTicket ticket = asyncOrderService.getTicket(ticketId).orElseThrow();
+            while (ticket.isPending()) {
+                Thread.sleep(1);
+                ticket = asyncOrderService.getTicket(ticketId).orElseThrow();
+            }
+            assertEquals(OrderBatchResult.CREATED, ticket.getStatus(), ticket.getError());
+        }
+        long done = System.nanoTime();
+        JsonNode polled = objectMapper.readTree(httpClient.send(HttpRequest.newBuilder(uri("/api/orders/async/" + run.ticketIds.get(0))).build(),
+                HttpResponse.BodyHandlers.ofString()).body());
+        assertNotNull(polled.get("orderId"));
+        return done;
+    }
+
+    private List<Long> seedProducts() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = new Product();
+            product.setName("flash sale product " + i);
+            product.setDescription("description");
+            product.setPrice(BigDecimal.valueOf(10));
+            product.setQuantity(ORDERS * 8);
+            ids.add(productService.add(product).getId());
+        }
+        return ids;
+    }
+
+    private static String anOrder(Long firstProduct, Long secondProduct) {
+        return String.format("{\"idUser\":1,\"orderDate\":\"2024-03-24\",\"status\":\"NEW\",\"products\":"
+                + "[{\"id\":%d,\"quantity\":1},{\"id\":%d,\"quantity\":2}]}", firstProduct, secondProduct);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static final class Run {
+        private final long start = System.nanoTime();
+        private final long[] latencies;
+        private final List<String> ticketIds = new ArrayList<>();
+        private long elapsedNanos;
+
+        private Run(int requests) {
+            this.latencies = new long[requests];
+        }
+
+        private double percentile(int percentile) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile / 100.0 * sorted.length) - 1);
+            return sorted[index] / 1_000_000.0;
+        }
+    }
+}
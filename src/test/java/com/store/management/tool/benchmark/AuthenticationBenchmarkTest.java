@@ -0,0 +1,90 @@
+package com.store.management.tool.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the throughput of an ADMIN-only endpoint authenticated with HTTP Basic (user lookup and BCrypt
+ * on every request) against the same endpoint authenticated with a bearer token.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class AuthenticationBenchmarkTest {
+
+    private static final int THREADS = 16;
+    private static final int REQUESTS = 500;
+    private static final int WARMUP_REQUESTS = 50;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void compareBasicAndBearerThroughput() throws Exception {
+        String basic = "Basic " + Base64.getEncoder().encodeToString("admin@gmail.com:0000".getBytes(StandardCharsets.UTF_8));
+        String bearer = "Bearer " + login();
+
+        run(basic, WARMUP_REQUESTS);
+        run(bearer, WARMUP_REQUESTS);
+
+        double basicThroughput = run(basic, REQUESTS);
+        double bearerThroughput = run(bearer, REQUESTS);
+
+        System.out.printf("auth benchmark: basic=%.1f req/s, bearer=%.1f req/s, speedup=%.1fx%n",
+                basicThroughput, bearerThroughput, bearerThroughput / basicThroughput);
+        assertTrue(bearerThroughput > basicThroughput);
+    }
+
+    private double run(String authorization, int requests) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/users?size=1"))
+                .header("Authorization", authorization)
+                .GET()
+                .build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Integer>> futures = new ArrayList<>(requests);
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            futures.add(executor.submit(() -> httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode()));
+        }
+        for (Future<Integer> future : futures) {
+            assertEquals(200, future.get());
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+
+        return requests / (elapsed / 1_000_000_000.0);
+    }
+
+    private String login() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"admin@gmail.com\",\"password\":\"0000\"}"))
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+}
@@ -0,0 +1,33 @@
+package com.store.management.tool.benchmark;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bound from {@code load-test.*} in application-loadtest.yaml.
+ */
+@Getter
+@Setter
+public class LoadTestProperties {
+    private Duration warmup = Duration.ofSeconds(5);
+    private Duration duration = Duration.ofSeconds(20);
+    private int catalogClients = 8;
+    private int orderClients = 4;
+    private int orderBurst = 10;
+    private int signupClients = 2;
+    private int signupBurst = 5;
+    private Map<String, Budget> budgets = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Budget {
+        private Duration p95;
+        private Duration p99;
+        private double minThroughput;
+        private double maxErrorRate = 0.01;
+    }
+}
@@ -0,0 +1,122 @@
+package com.store.management.tool.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.service.ProductService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares placing orders one request at a time through POST /api/orders with sending the same orders
+ * as one NDJSON stream to POST /api/orders/batch.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class OrderIngestionBenchmarkTest {
+
+    private static final int ORDERS = 2_000;
+    private static final int PRODUCTS = 20;
+    private static final int THREADS = 8;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void compareSingleAndBatchIngestion() throws Exception {
+        List<Long> productIds = seedProducts();
+        List<String> orders = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            orders.add(anOrder(productIds.get(i % PRODUCTS), productIds.get((i + 1) % PRODUCTS)));
+        }
+
+        double singleThroughput = placeOneByOne(orders);
+        double batchThroughput = placeAsBatch(orders);
+
+        System.out.printf("order ingestion benchmark: single=%.1f orders/s, batch=%.1f orders/s, speedup=%.1fx%n",
+                singleThroughput, batchThroughput, batchThroughput / singleThroughput);
+        assertTrue(batchThroughput > singleThroughput);
+    }
+
+    private double placeOneByOne(List<String> orders) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Integer>> futures = new ArrayList<>(orders.size());
+        long start = System.nanoTime();
+        for (String order : orders) {
+            HttpRequest request = HttpRequest.newBuilder(uri("/api/orders"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(order))
+                    .build();
+            futures.add(executor.submit(() -> httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode()));
+        }
+        for (Future<Integer> future : futures) {
+            assertEquals(201, future.get());
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+        return orders.size() / (elapsed / 1_000_000_000.0);
+    }
+
+    private double placeAsBatch(List<String> orders) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri("/api/orders/batch"))
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(String.join("\n", orders)))
+                .build();
+
+        long start = System.nanoTime();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        long elapsed = System.nanoTime() - start;
+
+        assertEquals(200, response.statusCode());
+        JsonNode results = objectMapper.readTree(response.body());
+        assertEquals(orders.size(), results.size());
+        results.forEach(result -> assertEquals("CREATED", result.get("status").asText()));
+        return orders.size() / (elapsed / 1_000_000_000.0);
+    }
+
+    private List<Long> seedProducts() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = new Product();
+            product.setName("benchmark product " + i);
+            product.setDescription("description");
+            product.setPrice(BigDecimal.valueOf(10));
+            product.setQuantity(ORDERS * 4);
+            ids.add(productService.add(product).getId());
+        }
+        return ids;
+    }
+
+    private static String anOrder(Long firstProduct, Long secondProduct) {
+        return String.format("{\"idUser\":1,\"orderDate\":\"2024-03-24\",\"status\":\"NEW\",\"products\":"
+                + "[{\"id\":%d,\"quantity\":1,\"price\":10},{\"id\":%d,\"quantity\":2,\"price\":10}]}", firstProduct, secondProduct);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
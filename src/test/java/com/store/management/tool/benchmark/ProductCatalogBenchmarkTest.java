@@ -0,0 +1,90 @@
+package com.store.management.tool.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.service.ProductCatalog;
+import com.store.management.tool.service.ProductService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares producing the first page of GET /api/products from the database and Jackson with reading it from
+ * the catalog snapshot: latency and bytes allocated per read.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class ProductCatalogBenchmarkTest {
+
+    private static final int PRODUCTS = 5_000;
+    private static final int CHUNK = 500;
+    private static final int READS = 20_000;
+    private static final int PAGE_SIZE = 50;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductCatalog productCatalog;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void measureCatalogReads() throws Exception {
+        for (int chunk = 0; chunk < PRODUCTS / CHUNK; chunk++) {
+            List<Product> products = new ArrayList<>(CHUNK);
+            for (int i = 0; i < CHUNK; i++) {
+                products.add(aProduct(chunk * CHUNK + i));
+            }
+            productService.upsert(products);
+        }
+        assertTrue(productCatalog.awaitRefresh(Duration.ofSeconds(30)));
+
+        measure("database + jackson", () -> objectMapper.writeValueAsBytes(productService.getAll(null, PAGE_SIZE)));
+        measure("catalog snapshot", () -> productCatalog.page(null, PAGE_SIZE).getJson());
+        measure("snapshot, other page", () -> productCatalog.page((long) PAGE_SIZE, PAGE_SIZE).getJson());
+    }
+
+    private void measure(String name, Callable<byte[]> read) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < READS / 10; i++) {
+            read.call();
+        }
+        long[] latencies = new long[READS];
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        int bytes = 0;
+        for (int i = 0; i < READS; i++) {
+            long start = System.nanoTime();
+            bytes = read.call().length;
+            latencies[i] = System.nanoTime() - start;
+        }
+        long allocated = (threads.getCurrentThreadAllocatedBytes() - allocatedBefore) / READS;
+        Arrays.sort(latencies);
+        System.out.printf("product catalog benchmark, %-22s %6d bytes/page, p50=%.3fms, p99=%.3fms, %8d bytes allocated/read%n",
+                name, bytes, latencies[READS / 2] / 1e6, latencies[READS * 99 / 100] / 1e6, allocated);
+        assertTrue(bytes > 0);
+    }
+
+    private static Product aProduct(int i) {
+        Product product = new Product();
+
+        product.setName("catalog benchmark product " + i);
+        product.setDescription("generated for the catalog benchmark");
+        product.setPrice(BigDecimal.valueOf(i % 1000, 2));
+        product.setQuantity(100);
+
+        return product;
+    }
+}
@@ -0,0 +1,89 @@
+package com.store.management.tool.benchmark;
+
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.service.ProductSearchIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures query and update latency of the product search index over a catalog of a million generated
+ * products, including one and two letter prefixes that match a large part of the catalog. A run fails when the
+ * p99 query latency exceeds -Dsearch.budget (default PT1MS) or the mean update exceeds -Dsearch.update-budget
+ * (default PT1MS).
+ */
+@Tag("benchmark")
+class ProductSearchBenchmarkTest {
+
+    private static final int PRODUCTS = 1_000_000;
+    private static final int QUERIES = 20_000;
+    private static final int UPDATES = 1_000;
+    private static final Duration BUDGET = Duration.parse(System.getProperty("search.budget", "PT0.001S"));
+    private static final Duration UPDATE_BUDGET = Duration.parse(System.getProperty("search.update-budget", "PT0.001S"));
+    private static final String[] ADJECTIVES = {"red", "blue", "green", "oak", "steel", "compact", "deluxe", "vintage",
+            "modern", "rustic", "portable", "silent", "smart", "heavy", "light", "classic"};
+    private static final String[] NOUNS = {"chair", "table", "lamp", "desk", "shelf", "sofa", "bed", "mirror",
+            "cabinet", "stool", "bench", "rug", "clock", "vase", "drawer", "wardrobe"};
+    private static final String[] QUERY_SET = {"red chair", "vint", "oak table 12", "modern lam", "sofa 99",
+            "silent clock", "deluxe ward", "model 4242", "rust bench", "r", "m", "12", "de wa", "s 9", "c 1"};
+
+    @Test
+    void measureSearchLatency() {
+        Random random = new Random(42);
+        List<Product> products = new ArrayList<>(PRODUCTS);
+        for (long id = 1; id <= PRODUCTS; id++) {
+            Product product = new Product();
+            product.setId(id);
+            product.setName(pick(random, ADJECTIVES) + " " + pick(random, NOUNS) + " " + (id % 10_000));
+            product.setDescription(pick(random, ADJECTIVES) + " " + pick(random, ADJECTIVES) + " " + pick(random, NOUNS)
+                    + " model " + (id % 50_000));
+            products.add(product);
+        }
+        long indexStart = System.nanoTime();
+        ProductSearchIndex index = ProductSearchIndex.build(products);
+        double indexSeconds = (System.nanoTime() - indexStart) / 1e9;
+
+        long updateStart = System.nanoTime();
+        for (int i = 0; i < UPDATES; i++) {
+            index.put(products.get(random.nextInt(PRODUCTS)));
+        }
+        double updateMillis = (System.nanoTime() - updateStart) / 1e6 / UPDATES;
+
+        for (int i = 0; i < QUERIES; i++) {
+            index.search(QUERY_SET[i % QUERY_SET.length], 0, 20);
+        }
+
+        long[] latencies = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long start = System.nanoTime();
+            index.search(QUERY_SET[i % QUERY_SET.length], 0, 20);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        double p50 = latencies[QUERIES / 2] / 1e6;
+        double p99 = latencies[QUERIES * 99 / 100] / 1e6;
+
+        System.out.printf("product search benchmark: %d products indexed in %.1fs, update=%.3fms, p50=%.3fms, p99=%.3fms%n",
+                PRODUCTS, indexSeconds, updateMillis, p50, p99);
+        for (String query : QUERY_SET) {
+            long start = System.nanoTime();
+            int total = index.search(query, 0, 20).getTotal();
+            System.out.printf("  %-14s %8d hits %8.3fms%n", query, total, (System.nanoTime() - start) / 1e6);
+        }
+        assertEquals(PRODUCTS, index.size());
+        assertTrue(p99 <= BUDGET.toNanos() / 1e6, String.format("p99 %.3fms, budget %dms", p99, BUDGET.toMillis()));
+        assertTrue(updateMillis <= UPDATE_BUDGET.toNanos() / 1e6,
+                String.format("update %.3fms, budget %dms", updateMillis, UPDATE_BUDGET.toMillis()));
+    }
+
+    private static String pick(Random random, String[] words) {
+        return words[random.nextInt(words.length)];
+    }
+}
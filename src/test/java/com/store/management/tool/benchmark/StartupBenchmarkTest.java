@@ -0,0 +1,159 @@
+package com.store.management.tool.benchmark;
+
+import com.store.management.tool.StoreManagementApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the application in a fresh JVM per run and measures the time from process start to the first
+ * successful GET /api/products, with the default configuration and with the "startup" profile. The AOT and
+ * class-data sharing variants run once target/startup has been built:
+ * mvn package -Pstartup -DskipTests && mvn test -Pbenchmark -Dtest=StartupBenchmarkTest
+ * A run fails when any configuration exceeds -Dstartup.budget (default PT60S, about twice what the
+ * default configuration needs on a single-core runner).
+ */
+@Tag("benchmark")
+class StartupBenchmarkTest {
+
+    private static final int RUNS = 3;
+    private static final Path STARTUP_DIRECTORY = Path.of("target", "startup");
+    private static final Duration BUDGET = Duration.parse(System.getProperty("startup.budget", "PT60S"));
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    @Test
+    void measureTimeToFirstRequest() throws Exception {
+        String classpath = System.getProperty("java.class.path");
+        String startupClasspath = startupClasspath();
+        Path archive = STARTUP_DIRECTORY.resolve("application.jsa");
+
+        List<Result> results = new ArrayList<>();
+        results.add(measure("default", classpath, List.of(), List.of()));
+        results.add(measure("startup profile", classpath, List.of(), List.of("--spring.profiles.active=startup")));
+        if (startupClasspath == null) {
+            System.out.println("startup benchmark: target/startup not built, skipping the AOT and CDS runs");
+        } else {
+            results.add(measure("startup + AOT", startupClasspath, List.of("-Dspring.aot.enabled=true"),
+                    List.of("--spring.profiles.active=startup")));
+            if (Files.exists(archive)) {
+                results.add(measure("startup + AOT + CDS", startupClasspath,
+                        List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=" + archive, "-Xlog:cds=off"),
+                        List.of("--spring.profiles.active=startup")));
+            }
+        }
+
+        System.out.printf("startup benchmark (time to first GET /api/products, %d runs):%n", RUNS);
+        System.out.printf("  %-22s %10s %10s%n", "configuration", "median ms", "best ms");
+        results.forEach(result -> System.out.printf("  %-22s %10d %10d%n", result.name, result.median(), result.best()));
+
+        for (Result result : results) {
+            assertTrue(result.median() <= BUDGET.toMillis(),
+                    String.format("%s took %d ms, budget %d ms", result.name, result.median(), BUDGET.toMillis()));
+        }
+    }
+
+    private Result measure(String name, String classpath, List<String> jvmArguments, List<String> arguments) throws Exception {
+        Result result = new Result(name);
+        for (int run = 0; run < RUNS; run++) {
+            result.millis[run] = timeToFirstRequest(name, classpath, jvmArguments, arguments);
+        }
+        return result;
+    }
+
+    private long timeToFirstRequest(String name, String classpath, List<String> jvmArguments, List<String> arguments)
+            throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArguments);
+        command.add("-cp");
+        command.add(classpath);
+        command.add(StoreManagementApplication.class.getName());
+        command.add("--server.port=" + port);
+        command.add("--logging.level.root=WARN");
+        command.addAll(arguments);
+        File log = Path.of("target", "startup-benchmark-" + name.replaceAll("\\W+", "-") + ".log").toFile();
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/products?size=1"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log).start();
+        try {
+            while (System.nanoTime() - start < BUDGET.toNanos() * 2) {
+                assertTrue(process.isAlive(), name + " exited early, see " + log);
+                try {
+                    HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() / 100 == 2) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // not listening yet
+                }
+                Thread.sleep(10);
+            }
+            return fail(name + " did not answer in time, see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static String startupClasspath() throws IOException {
+        if (!Files.isDirectory(STARTUP_DIRECTORY.resolve("lib"))) {
+            return null;
+        }
+        try (var files = Files.list(STARTUP_DIRECTORY)) {
+            return files.filter(file -> file.toString().endsWith("-startup.jar"))
+                    .findFirst()
+                    .map(jar -> jar + File.pathSeparator + STARTUP_DIRECTORY.resolve("lib") + File.separator + "*")
+                    .orElse(null);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static final class Result {
+        private final String name;
+        private final long[] millis = new long[RUNS];
+
+        private Result(String name) {
+            this.name = name;
+        }
+
+        private long median() {
+            long[] sorted = millis.clone();
+            Arrays.sort(sorted);
+            return sorted[RUNS / 2];
+        }
+
+        private long best() {
+            return Arrays.stream(millis).min().orElseThrow();
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.store.management.tool.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.repository.ProductRepository;
+import com.store.management.tool.service.ProductSearchService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end load test: a read-heavy catalog workload, bursts of orders on a few hot products and bursts of
+ * signups run concurrently against the application on a random port. Latency percentiles and throughput are
+ * reported per endpoint and checked against the budgets in application-loadtest.yaml.
+ * <p>
+ * Clients run on virtual threads when the JVM supports them and fall back to one platform thread per client.
+ */
+@Tag("benchmark")
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class StoreLoadTest {
+
+    private static final int PRODUCTS = 2_000;
+    private static final int HOT_PRODUCTS = 5;
+    private static final String[] SEARCH_TERMS = {"chair", "oak ta", "lamp", "vintage de", "steel", "sofa 1"};
+    private static final String[] ADJECTIVES = {"red", "oak", "steel", "vintage", "modern", "compact"};
+    private static final String[] NOUNS = {"chair", "table", "lamp", "desk", "sofa", "shelf"};
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Environment environment;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final List<Long> productIds = new ArrayList<>();
+    private final List<Long> orderIds = Collections.synchronizedList(new ArrayList<>());
+    private final List<Long> userIds = Collections.synchronizedList(new ArrayList<>(List.of(1L, 2L)));
+
+    @Test
+    void mixedWorkloadStaysWithinBudgets() throws Exception {
+        LoadTestProperties properties = Binder.get(environment).bind("load-test", LoadTestProperties.class)
+                .orElseGet(LoadTestProperties::new);
+        seedProducts();
+
+        run(properties, properties.getWarmup());
+        Map<String, EndpointStats> stats = run(properties, properties.getDuration());
+
+        double seconds = properties.getDuration().toMillis() / 1000.0;
+        System.out.printf("load test (%s clients, %.0fs):%n", virtualThreadsAvailable() ? "virtual-thread" : "platform-thread", seconds);
+        System.out.printf("  %-15s %8s %9s %8s %8s %8s %8s %8s%n", "endpoint", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "rejected", "errors");
+        stats.forEach((endpoint, endpointStats) -> System.out.printf("  %-15s %8d %9.1f %8.1f %8.1f %8.1f %8d %8d%n",
+                endpoint, endpointStats.count(), endpointStats.count() / seconds, endpointStats.percentileMillis(0.50),
+                endpointStats.percentileMillis(0.95), endpointStats.percentileMillis(0.99), endpointStats.rejected, endpointStats.errors));
+
+        List<String> violations = new ArrayList<>();
+        properties.getBudgets().forEach((endpoint, budget) -> {
+            EndpointStats endpointStats = stats.get(endpoint);
+            if (endpointStats == null || endpointStats.count() == 0) {
+                violations.add(endpoint + ": no requests completed");
+                return;
+            }
+            check(violations, endpoint, "p95", endpointStats.percentileMillis(0.95), budget.getP95());
+            check(violations, endpoint, "p99", endpointStats.percentileMillis(0.99), budget.getP99());
+            double throughput = endpointStats.count() / seconds;
+            if (throughput < budget.getMinThroughput()) {
+                violations.add(String.format("%s: %.1f req/s is below %.1f req/s", endpoint, throughput, budget.getMinThroughput()));
+            }
+            double errorRate = (double) endpointStats.errors / endpointStats.count();
+            if (errorRate > budget.getMaxErrorRate()) {
+                violations.add(String.format("%s: error rate %.3f is above %.3f", endpoint, errorRate, budget.getMaxErrorRate()));
+            }
+        });
+        assertTrue(violations.isEmpty(), "Load test budgets exceeded:\n" + String.join("\n", violations));
+    }
+
+    private Map<String, EndpointStats> run(LoadTestProperties properties, Duration duration) throws Exception {
+        Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<?>> clients = new ArrayList<>();
+
+        try (ClientExecutor executor = new ClientExecutor()) {
+            for (int i = 0; i < properties.getCatalogClients(); i++) {
+                clients.add(executor.submit(() -> catalogClient(stats, deadline)));
+            }
+            for (int i = 0; i < properties.getOrderClients(); i++) {
+                clients.add(executor.submit(() -> orderClient(stats, deadline, properties.getOrderBurst())));
+            }
+            for (int i = 0; i < properties.getSignupClients(); i++) {
+                clients.add(executor.submit(() -> signupClient(stats, deadline, properties.getSignupBurst())));
+            }
+            for (Future<?> client : clients) {
+                client.get();
+            }
+        }
+        return new TreeMap<>(stats);
+    }
+
+    private Void catalogClient(Map<String, EndpointStats> stats, long deadline) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            int pick = random.nextInt(100);
+            if (pick < 50) {
+                send(stats, "product-page", get("/api/products?size=50&after=" + randomId(productIds)));
+            } else if (pick < 85) {
+                send(stats, "product-by-id", get("/api/products/" + randomId(productIds)));
+            } else {
+                String query = SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)];
+                send(stats, "product-search", get("/api/products/search?size=20&q=" + URLEncoder.encode(query, StandardCharsets.UTF_8)));
+            }
+        }
+        return null;
+    }
+
+    private Void orderClient(Map<String, EndpointStats> stats, long deadline, int burst) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            for (int i = 0; i < burst && System.nanoTime() < deadline; i++) {
+                long hotProduct = productIds.get(random.nextInt(HOT_PRODUCTS));
+                long otherProduct = randomId(productIds);
+                String order = String.format("{\"idUser\":%d,\"orderDate\":\"2024-03-24\",\"status\":\"NEW\",\"products\":"
+                        + "[{\"id\":%d,\"quantity\":1},{\"id\":%d,\"quantity\":1}]}", randomId(userIds), hotProduct, otherProduct);
+                HttpResponse<String> response = send(stats, "order-create", post("/api/orders", order));
+                if (response.statusCode() == 201) {
+                    orderIds.add(objectMapper.readTree(response.body()).get("id").asLong());
+                }
+            }
+            if (!orderIds.isEmpty()) {
+                send(stats, "order-by-id", get("/api/orders/" + randomId(orderIds)));
+            }
+            Thread.sleep(random.nextInt(50, 150));
+        }
+        return null;
+    }
+
+    private Void signupClient(Map<String, EndpointStats> stats, long deadline, int burst) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            for (int i = 0; i < burst && System.nanoTime() < deadline; i++) {
+                String user = String.format("{\"email\":\"load-%s@example.com\",\"password\":\"load-test-password\","
+                        + "\"firstName\":\"Load\",\"lastName\":\"Test\",\"phoneNumber\":\"0700000000\"}", UUID.randomUUID());
+                HttpResponse<String> response = send(stats, "user-signup", post("/api/users", user));
+                if (response.statusCode() == 201) {
+                    userIds.add(objectMapper.readTree(response.body()).get("id").asLong());
+                }
+            }
+            send(stats, "user-by-id", get("/api/users/" + randomId(userIds)));
+            Thread.sleep(random.nextInt(200, 400));
+        }
+        return null;
+    }
+
+    private HttpResponse<String> send(Map<String, EndpointStats> stats, String endpoint, HttpRequest request) throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        stats.computeIfAbsent(endpoint, e -> new EndpointStats()).record(System.nanoTime() - start, response.statusCode());
+        return response;
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private void seedProducts() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Product> products = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = new Product();
+            String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+            String noun = NOUNS[random.nextInt(NOUNS.length)];
+            product.setName(adjective + " " + noun + " " + i);
+            product.setDescription("A " + adjective + " " + noun + " for the load test.");
+            product.setPrice(BigDecimal.valueOf(100 + random.nextInt(10_000), 2));
+            product.setQuantity(i < HOT_PRODUCTS ? 1_000_000 : 100_000);
+            products.add(product);
+        }
+        productRepository.saveAll(products).forEach(product -> productIds.add(product.getId()));
+        productSearchService.rebuild();
+    }
+
+    private static long randomId(List<Long> ids) {
+        synchronized (ids) {
+            return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        }
+    }
+
+    private static void check(List<String> violations, String endpoint, String percentile, double actualMillis, Duration budget) {
+        if (budget != null && actualMillis > budget.toMillis()) {
+            violations.add(String.format("%s: %s %.1f ms is above %d ms", endpoint, percentile, actualMillis, budget.toMillis()));
+        }
+    }
+
+    private static boolean virtualThreadsAvailable() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * One virtual thread per client on Java 21 and later, one platform thread per client before that.
+     */
+    private static class ClientExecutor implements AutoCloseable {
+        private final ExecutorService executor;
+
+        ClientExecutor() throws ReflectiveOperationException {
+            executor = virtualThreadsAvailable()
+                    ? (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null)
+                    : Executors.newCachedThreadPool();
+        }
+
+        Future<?> submit(java.util.concurrent.Callable<Void> client) {
+            return executor.submit(client);
+        }
+
+        @Override
+        public void close() {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 2xx responses and expected refusals (4xx, 503 when shedding load) are counted apart from errors.
+     */
+    private static class EndpointStats {
+        private long[] latencies = new long[1024];
+        private int size;
+        private long rejected;
+        private long errors;
+
+        synchronized void record(long nanos, int status) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = nanos;
+            if (status >= 400 && (status < 500 || status == 503)) {
+                rejected++;
+            } else if (status >= 500) {
+                errors++;
+            }
+        }
+
+        synchronized int count() {
+            return size;
+        }
+
+        synchronized double percentileMillis(double percentile) {
+            if (size == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * size) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
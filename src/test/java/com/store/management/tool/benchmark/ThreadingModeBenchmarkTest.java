@@ -0,0 +1,180 @@
+package com.store.management.tool.benchmark;
+
+import com.store.management.tool.StoreManagementApplication;
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the same mostly-JDBC workload, catalog pages, order listings and order placement from many concurrent
+ * clients, against the application on Tomcat's platform thread pool and again with the "virtual" profile,
+ * reporting throughput, latency percentiles, shed requests and pinned virtual threads. The virtual run needs
+ * Java 21 and is skipped on older runtimes.
+ */
+@Tag("benchmark")
+class ThreadingModeBenchmarkTest {
+
+    private static final int CLIENTS = 256;
+    private static final int REQUESTS = 6_000;
+    private static final int PRODUCTS = 20;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        Run platform = run("platform", false);
+        System.out.println(platform);
+        assertEquals(0, platform.errors.get());
+
+        if (Runtime.version().feature() < 21) {
+            System.out.println("threading benchmark: virtual threads need Java 21, skipping the virtual run");
+            return;
+        }
+        Run virtual = run("virtual", true);
+        System.out.println(virtual);
+        assertEquals(0, virtual.errors.get());
+    }
+
+    private Run run(String mode, boolean virtualThreads) throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(StoreManagementApplication.class)
+                .properties("server.port=0", "spring.datasource.url=jdbc:h2:mem:threading-" + mode, "logging.level.root=WARN");
+        if (virtualThreads) {
+            builder.profiles("virtual");
+        }
+        try (ConfigurableApplicationContext context = builder.run("--store.threading.pinned-threshold=1ms")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            List<Long> productIds = seedProducts(context.getBean(ProductService.class));
+            List<HttpRequest> requests = workload(port, productIds);
+
+            send(requests.subList(0, CLIENTS), new Run(mode, CLIENTS));
+            Run run = send(requests, new Run(mode, requests.size()));
+
+            // pinned events reach the monitor through the JFR stream about once a second
+            Thread.sleep(1_500);
+            run.pinned = context.getBean(MeterRegistry.class).find("jvm.threads.virtual.pinned").timers().stream()
+                    .mapToLong(Timer::count).sum();
+            return run;
+        }
+    }
+
+    private Run send(List<HttpRequest> requests, Run run) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<Long>> futures = new ArrayList<>(requests.size());
+        for (HttpRequest request : requests) {
+            futures.add(executor.submit(() -> {
+                long sent = System.nanoTime();
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                long latency = System.nanoTime() - sent;
+                if (response.statusCode() == 503) {
+                    run.shed.incrementAndGet();
+                } else if (response.statusCode() >= 400) {
+                    run.errors.incrementAndGet();
+                }
+                return latency;
+            }));
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            run.latencies[i] = futures.get(i).get();
+        }
+        run.elapsedNanos = System.nanoTime() - run.start;
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        return run;
+    }
+
+    private static List<HttpRequest> workload(int port, List<Long> productIds) {
+        List<HttpRequest> requests = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            String path;
+            HttpRequest.Builder request;
+            switch (i % 4) {
+                case 0 -> {
+                    request = HttpRequest.newBuilder().POST(HttpRequest.BodyPublishers.ofString(
+                            anOrder(productIds.get(i % PRODUCTS), productIds.get((i + 1) % PRODUCTS))));
+                    path = "/api/orders";
+                }
+                case 1 -> {
+                    request = HttpRequest.newBuilder().GET();
+                    path = "/api/orders?size=50";
+                }
+                default -> {
+                    request = HttpRequest.newBuilder().GET();
+                    path = "/api/products?size=50&after=" + productIds.get(i % PRODUCTS);
+                }
+            }
+            requests.add(request.uri(URI.create("http://localhost:" + port + path))
+                    .header("Content-Type", "application/json")
+                    .build());
+        }
+        return requests;
+    }
+
+    private static List<Long> seedProducts(ProductService productService) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = new Product();
+            product.setName("threading product " + i);
+            product.setDescription("description");
+            product.setPrice(BigDecimal.valueOf(10));
+            product.setQuantity(REQUESTS * 4);
+            ids.add(productService.add(product).getId());
+        }
+        return ids;
+    }
+
+    private static String anOrder(Long firstProduct, Long secondProduct) {
+        return String.format("{\"idUser\":1,\"orderDate\":\"2024-03-24\",\"status\":\"NEW\",\"products\":"
+                + "[{\"id\":%d,\"quantity\":1},{\"id\":%d,\"quantity\":1}]}", firstProduct, secondProduct);
+    }
+
+    private static final class Run {
+        private final String mode;
+        private final long start = System.nanoTime();
+        private final long[] latencies;
+        private final AtomicInteger shed = new AtomicInteger();
+        private final AtomicInteger errors = new AtomicInteger();
+        private long elapsedNanos;
+        private long pinned;
+
+        private Run(String mode, int requests) {
+            this.mode = mode;
+            this.latencies = new long[requests];
+        }
+
+        private double percentile(int percentile) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile / 100.0 * sorted.length) - 1);
+            return sorted[index] / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("threading benchmark (%s threads, %d clients): %.1f req/s p50=%.1fms p99=%.1fms "
+                            + "shed=%d errors=%d pinned=%d", mode, CLIENTS, latencies.length / (elapsedNanos / 1_000_000_000.0),
+                    percentile(50), percentile(99), shed.get(), errors.get(), pinned);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.store.management.tool.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ThreadingProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ThreadingProperties();
+        properties.setMaxConcurrentRequests(1);
+        properties.setAcquireTimeout(Duration.ofMillis(50));
+    }
+
+    @Test
+    void testDoFilter_PermitAvailable() throws Exception {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties, new HikariDataSource(), meterRegistry);
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), response, chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals(200, response.getStatus());
+        assertEquals(1, meterRegistry.get("http.server.requests.permits.available").gauge().value());
+    }
+
+    @Test
+    void testDoFilter_NoPermitRejected() throws Exception {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties, new HikariDataSource(), meterRegistry);
+        CountDownLatch admitted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain blocking = (request, response) -> {
+            admitted.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/orders"), new MockHttpServletResponse(), blocking);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(admitted.await(5, TimeUnit.SECONDS));
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/orders"), response, chain);
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+
+        assertNull(chain.getRequest());
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, meterRegistry.get("http.server.requests.shed").counter().count());
+    }
+
+    @Test
+    void testDoFilter_AsyncRequestHoldsPermitUntilComplete() throws Exception {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties, new HikariDataSource(), meterRegistry);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders/export");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> req.startAsync());
+        assertEquals(0, meterRegistry.get("http.server.requests.permits.available").gauge().value());
+
+        MockHttpServletResponse shed = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/orders"), shed, new MockFilterChain());
+        assertEquals(503, shed.getStatus());
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        MockFilterChain asyncDispatch = new MockFilterChain();
+        filter.doFilter(request, response, asyncDispatch);
+        assertNotNull(asyncDispatch.getRequest());
+        assertEquals(0, meterRegistry.get("http.server.requests.permits.available").gauge().value());
+
+        request.getAsyncContext().complete();
+        assertEquals(1, meterRegistry.get("http.server.requests.permits.available").gauge().value());
+    }
+
+    @Test
+    void testDoFilter_NonApiPathNotLimited() throws Exception {
+        properties.setMaxConcurrentRequests(0);
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(4);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties, dataSource, meterRegistry);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals(8, meterRegistry.get("http.server.requests.permits.available").gauge().value());
+    }
+
+    @Test
+    void testPermits_PoolNotStartedUsesHikariDefault() {
+        properties.setMaxConcurrentRequests(0);
+
+        new ConcurrencyLimitFilter(properties, new HikariDataSource(), meterRegistry);
+
+        assertEquals(20, meterRegistry.get("http.server.requests.permits.available").gauge().value());
+    }
+}
@@ -0,0 +1,120 @@
+package com.store.management.tool.config;
+
+import com.store.management.tool.domain.Order;
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.service.OrderService;
+import com.store.management.tool.service.ProductService;
+import com.store.management.tool.utils.Status;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void testAdd_InsufficientStockCounted() throws Exception {
+        double before = meterRegistry.get("stock.insufficient").tag("source", "order").counter().count();
+        Product product = productService.add(aProduct(1));
+
+        assertThrows(IllegalArgumentException.class, () -> orderService.add(anOrder(product, 5)));
+
+        assertEquals(before + 1, meterRegistry.get("stock.insufficient").tag("source", "order").counter().count());
+    }
+
+    @Test
+    void testServiceCall_Timed() {
+        productService.getAll(null, 10);
+
+        long count = meterRegistry.get("service.duration")
+                .tag("class", ProductService.class.getName())
+                .tag("method", "getAll")
+                .timer().count();
+        assertTrue(count >= 1);
+    }
+
+    @Test
+    void testApiRequest_QueryCountRecorded() throws Exception {
+        mockMvc.perform(get("/api/orders"));
+
+        DistributionSummary queries = meterRegistry.get("http.server.requests.queries")
+                .tag("method", "GET")
+                .tag("uri", "/api/orders")
+                .summary();
+        assertTrue(queries.count() >= 1);
+        assertTrue(queries.max() >= 1);
+    }
+
+    @Test
+    void testPrometheus_ScrapeWithAdminCredentials() throws Exception {
+        String credentials = Base64.getEncoder().encodeToString("admin@gmail.com:0000".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, "Basic " + credentials))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("hikaricp_connections_active{pool=\"store\"")))
+                .andExpect(content().string(containsString("stock_insufficient_total")));
+    }
+
+    @Test
+    void testPrometheus_AnonymousRejected() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private Product aProduct(int quantity) {
+        Product product = new Product();
+
+        product.setName("metered product");
+        product.setDescription("description");
+        product.setPrice(BigDecimal.ONE);
+        product.setQuantity(quantity);
+
+        return product;
+    }
+
+    private Order anOrder(Product product, int quantity) {
+        Order order = new Order();
+
+        order.setIdUser(1L);
+        order.setOrderDate(LocalDate.of(2024, 3, 24));
+        order.setStatus(Status.NEW);
+        Product line = new Product();
+        line.setId(product.getId());
+        line.setQuantity(quantity);
+        order.setProducts(Set.of(line));
+
+        return order;
+    }
+}
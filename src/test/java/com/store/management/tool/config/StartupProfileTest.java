@@ -0,0 +1,50 @@
+package com.store.management.tool.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("startup")
+class StartupProfileTest {
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ScheduledTaskHolder scheduledTaskHolder;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private Flyway flyway;
+
+    @Test
+    void testStartupProfile_BackgroundBeansEagerOthersLazy() throws Exception {
+        assertTrue(scheduledTaskHolder.getScheduledTasks().stream()
+                .anyMatch(task -> task.toString().contains("purgeExpired")));
+        assertNotNull(meterRegistry.find("stock.journal.queue.size").gauge());
+        assertNotNull(meterRegistry.find("orders.async.queue.size").gauge());
+        assertFalse(context.getBeanFactory().containsSingleton("productCsvService"));
+        assertTrue(flyway.getConfiguration().isValidateOnMigrate());
+
+        mockMvc.perform(get("/api/products?size=1"))
+                .andExpect(status().is2xxSuccessful());
+    }
+}
@@ -0,0 +1,46 @@
+package com.store.management.tool.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenPropertiesTest {
+
+    @Test
+    void testSecretKey_MissingSecretGeneratesRandomKey() {
+        TokenProperties first = new TokenProperties();
+        TokenProperties second = new TokenProperties();
+
+        first.afterPropertiesSet();
+        second.afterPropertiesSet();
+
+        assertEquals(32, first.secretKey().getEncoded().length);
+        assertNotEquals(Base64.getEncoder().encodeToString(first.secretKey().getEncoded()),
+                Base64.getEncoder().encodeToString(second.secretKey().getEncoded()));
+    }
+
+    @Test
+    void testSecretKey_ConfiguredSecretUsed() {
+        byte[] key = new byte[32];
+        key[0] = 7;
+        TokenProperties properties = new TokenProperties();
+        properties.setSecret(Base64.getEncoder().encodeToString(key));
+
+        properties.afterPropertiesSet();
+
+        assertArrayEquals(key, properties.secretKey().getEncoded());
+    }
+
+    @Test
+    void testSecretKey_ShortOrInvalidSecretRejected() {
+        TokenProperties tooShort = new TokenProperties();
+        tooShort.setSecret(Base64.getEncoder().encodeToString(new byte[16]));
+        TokenProperties notBase64 = new TokenProperties();
+        notBase64.setSecret("not base64!");
+
+        assertThrows(IllegalStateException.class, tooShort::afterPropertiesSet);
+        assertThrows(IllegalStateException.class, notBase64::afterPropertiesSet);
+    }
+}
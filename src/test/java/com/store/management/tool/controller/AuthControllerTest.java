@@ -0,0 +1,127 @@
+package com.store.management.tool.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.store.management.tool.config.TokenProperties;
+import com.store.management.tool.service.TokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtEncoder jwtEncoder;
+
+    @Autowired
+    private TokenProperties tokenProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testLogin_TokenAuthorizesAdminEndpoint() throws Exception {
+        String token = login("admin@gmail.com", "0000");
+
+        mockMvc.perform(get("/api/users").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testLogin_PasswordVerifiedOnHashingPool() throws Exception {
+        long hashed = meterRegistry.get("password.hashing.duration").timer().count();
+
+        login("client@gmail.com", "0000");
+
+        assertTrue(meterRegistry.get("password.hashing.duration").timer().count() > hashed);
+    }
+
+    @Test
+    void testLogin_CustomerTokenForbiddenOnAdminEndpoint() throws Exception {
+        String token = login("client@gmail.com", "0000");
+
+        mockMvc.perform(get("/api/users").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testLogin_TamperedTokenRejected() throws Exception {
+        String token = login("client@gmail.com", "0000");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        mockMvc.perform(get("/api/users").header(HttpHeaders.AUTHORIZATION, "Bearer " + tampered))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testToken_ForeignIssuerOrExpiredRejected() throws Exception {
+        Instant now = Instant.now();
+        String foreign = sign(JwtClaimsSet.builder()
+                .issuer("someone-else")
+                .subject("admin@gmail.com")
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(600))
+                .claim(TokenService.ROLE_CLAIM, "ADMIN")
+                .build());
+        String expired = sign(JwtClaimsSet.builder()
+                .issuer(tokenProperties.getIssuer())
+                .subject("admin@gmail.com")
+                .issuedAt(now.minusSeconds(3600))
+                .expiresAt(now.minusSeconds(600))
+                .claim(TokenService.ROLE_CLAIM, "ADMIN")
+                .build());
+
+        mockMvc.perform(get("/api/users").header(HttpHeaders.AUTHORIZATION, "Bearer " + foreign))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/users").header(HttpHeaders.AUTHORIZATION, "Bearer " + expired))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testLogin_WrongPassword() throws Exception {
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"admin@gmail.com\",\"password\":\"wrong\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private String sign(JwtClaimsSet claims) {
+        JwsHeader header = JwsHeader.with(MacAlgorithm.HS256).build();
+        return jwtEncoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+    }
+
+    private String login(String email, String password) throws Exception {
+        String response = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("{\"email\":\"%s\",\"password\":\"%s\"}", email, password)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode json = objectMapper.readTree(response);
+        return json.get("token").asText();
+    }
+}
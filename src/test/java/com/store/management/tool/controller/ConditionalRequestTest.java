@@ -0,0 +1,165 @@
+package com.store.management.tool.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.store.management.tool.domain.Order;
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.service.OrderService;
+import com.store.management.tool.service.ProductService;
+import com.store.management.tool.utils.Status;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalRequestTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Test
+    void testGetProduct_NotModifiedUntilStockChanges() throws Exception {
+        Product product = productService.add(aProduct(10));
+        String etag = etag(get("/api/products/" + product.getId()));
+
+        mockMvc.perform(get("/api/products/" + product.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        orderService.add(anOrder(product, 1));
+
+        assertNotEquals(etag, etag(get("/api/products/" + product.getId()).header(HttpHeaders.IF_NONE_MATCH, etag)));
+    }
+
+    @Test
+    void testGetProductPage_NotModifiedUntilAnItemChanges() throws Exception {
+        Product first = productService.add(aProduct(10));
+        productService.add(aProduct(10));
+        String page = "/api/products?size=2&after=" + (first.getId() - 1);
+        String etag = etag(get(page));
+
+        mockMvc.perform(get(page).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        Product renamed = aProduct(10);
+        renamed.setName("renamed product");
+        productService.update(first.getId(), renamed);
+
+        String changed = etag(get(page).header(HttpHeaders.IF_NONE_MATCH, etag));
+        assertNotEquals(etag, changed);
+        mockMvc.perform(get(page).header(HttpHeaders.IF_NONE_MATCH, changed))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void testUpdateProduct_StaleIfMatchRejected() throws Exception {
+        Product product = productService.add(aProduct(10));
+        String etag = etag(get("/api/products/" + product.getId()));
+        String token = login();
+        String body = objectMapper.writeValueAsString(aProduct(12));
+
+        String newEtag = mockMvc.perform(put("/api/products/" + product.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(put("/api/products/" + product.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isPreconditionFailed());
+        assertNotEquals(etag, newEtag);
+        assertEquals(12, productService.getById(product.getId()).getQuantity());
+    }
+
+    @Test
+    void testUpdateOrder_LineChangeBumpsVersion() throws Exception {
+        Product product = productService.add(aProduct(10));
+        Order order = orderService.add(anOrder(product, 1));
+        String etag = etag(get("/api/orders/" + order.getId()));
+        String lines = String.format("{\"idUser\":1,\"orderDate\":\"2024-03-24\",\"status\":\"NEW\",\"products\":[{\"id\":%d,\"quantity\":%d}]}",
+                product.getId(), 1);
+
+        mockMvc.perform(put("/api/orders/" + order.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(lines))
+                .andExpect(status().isOk());
+
+        assertNotEquals(etag, etag(get("/api/orders/" + order.getId())));
+        mockMvc.perform(put("/api/orders/" + order.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(lines))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    private String etag(RequestBuilder request) throws Exception {
+        String etag = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        return etag;
+    }
+
+    private String login() throws Exception {
+        String response = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"admin@gmail.com\",\"password\":\"0000\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("token").asText();
+    }
+
+    private Product aProduct(int quantity) {
+        Product product = new Product();
+
+        product.setName("conditional product");
+        product.setDescription("description");
+        product.setPrice(BigDecimal.ONE);
+        product.setQuantity(quantity);
+
+        return product;
+    }
+
+    private Order anOrder(Product product, int quantity) {
+        Order order = new Order();
+
+        order.setIdUser(1L);
+        order.setOrderDate(LocalDate.of(2024, 3, 24));
+        order.setStatus(Status.NEW);
+        Product line = new Product();
+        line.setId(product.getId());
+        line.setQuantity(quantity);
+        order.setProducts(Set.of(line));
+
+        return order;
+    }
+}
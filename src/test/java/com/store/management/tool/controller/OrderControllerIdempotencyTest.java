@@ -0,0 +1,171 @@
+package com.store.management.tool.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.repository.ProductRepository;
+import com.store.management.tool.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderControllerIdempotencyTest {
+
+    private static final int CLIENTS = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void testAdd_SameKeyReplaysFirstOrder() throws Exception {
+        Product product = productService.add(aProduct(10));
+        String key = UUID.randomUUID().toString();
+
+        long firstId = orderId(placeOrder(key, product, 3));
+        MockHttpServletResponse retry = mockMvc.perform(anOrderRequest(key, product, 3))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(OrderController.IDEMPOTENT_REPLAYED, "true"))
+                .andReturn().getResponse();
+
+        assertEquals(firstId, orderId(retry));
+        assertEquals(7, productRepository.findById(product.getId()).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void testAdd_DifferentKeysPlaceSeparateOrders() throws Exception {
+        Product product = productService.add(aProduct(10));
+
+        long firstId = orderId(placeOrder(UUID.randomUUID().toString(), product, 1));
+        long secondId = orderId(placeOrder(UUID.randomUUID().toString(), product, 1));
+
+        assertNotEquals(firstId, secondId);
+        assertEquals(8, productRepository.findById(product.getId()).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void testAdd_SameKeyDifferentRequestRejected() throws Exception {
+        Product product = productService.add(aProduct(10));
+        String key = UUID.randomUUID().toString();
+
+        placeOrder(key, product, 3);
+        mockMvc.perform(anOrderRequest(key, 1, product, 4))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(header().doesNotExist(OrderController.IDEMPOTENT_REPLAYED));
+
+        assertEquals(7, productRepository.findById(product.getId()).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void testAdd_SameKeyOtherUserPlacesOwnOrder() throws Exception {
+        Product product = productService.add(aProduct(10));
+        String key = UUID.randomUUID().toString();
+
+        long firstId = orderId(placeOrder(key, product, 1));
+        MockHttpServletResponse other = mockMvc.perform(anOrderRequest(key, 2, product, 1))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(OrderController.IDEMPOTENT_REPLAYED))
+                .andReturn().getResponse();
+
+        assertNotEquals(firstId, orderId(other));
+        assertEquals(8, productRepository.findById(product.getId()).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void testAdd_ConcurrentRetriesPlaceOnce() throws Exception {
+        Product product = productService.add(aProduct(100));
+        String key = UUID.randomUUID().toString();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<Long>> futures = new ArrayList<>();
+
+        for (int i = 0; i < CLIENTS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return orderId(placeOrder(key, product, 5));
+            }));
+        }
+        start.countDown();
+        Set<Long> orderIds = new HashSet<>();
+        for (Future<Long> future : futures) {
+            orderIds.add(future.get(60, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertEquals(1, orderIds.size());
+        assertEquals(95, productRepository.findById(product.getId()).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void testAdd_BlankKeyRejected() throws Exception {
+        Product product = productService.add(aProduct(10));
+
+        mockMvc.perform(anOrderRequest(" ", product, 1))
+                .andExpect(status().isBadRequest());
+    }
+
+    private MockHttpServletResponse placeOrder(String key, Product product, int quantity) throws Exception {
+        return mockMvc.perform(anOrderRequest(key, product, quantity))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse();
+    }
+
+    private RequestBuilder anOrderRequest(String key, Product product, int quantity) {
+        return anOrderRequest(key, 1, product, quantity);
+    }
+
+    private RequestBuilder anOrderRequest(String key, long idUser, Product product, int quantity) {
+        String order = String.format("{\"idUser\":%d,\"orderDate\":\"2024-03-24\",\"status\":\"NEW\",\"products\":[{\"id\":%d,\"quantity\":%d}]}",
+                idUser, product.getId(), quantity);
+        return post("/api/orders")
+                .header(OrderController.IDEMPOTENCY_KEY, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(order);
+    }
+
+    private long orderId(MockHttpServletResponse response) throws Exception {
+        return objectMapper.readTree(response.getContentAsString()).get("id").asLong();
+    }
+
+    private Product aProduct(int quantity) {
+        Product product = new Product();
+
+        product.setName("retried product");
+        product.setDescription("description");
+        product.setPrice(BigDecimal.ONE);
+        product.setQuantity(quantity);
+
+        return product;
+    }
+}
@@ -0,0 +1,104 @@
+package com.store.management.tool.repository;
+
+import com.store.management.tool.dto.OrderFilter;
+import com.store.management.tool.dto.OrderStatusUpdate;
+import com.store.management.tool.service.OrderService;
+import com.store.management.tool.utils.Status;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Captures the SQL the order searches and bulk status updates actually run, through H2's query statistics,
+ * and fails when the plan of any of them does not use the index meant for it.
+ */
+@SpringBootTest
+class OrderQueryPlanTest {
+
+    private static final LocalDate FROM = LocalDate.of(2033, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2033, 1, 31);
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testOrderQueries_UseTheirIndex() {
+        List<String> violations = new ArrayList<>();
+        checkPlans("user history", "IDX_ORDER_STORE_USER_ID", violations,
+                () -> orderService.search(OrderFilter.ofUser(1L), 0L, 20));
+        checkPlans("status", "IDX_ORDER_STORE_STATUS_ID", violations,
+                () -> orderService.search(filter(null, Status.NEW, null, null, null, null), null, 20));
+        checkPlans("date range", "IDX_ORDER_STORE_DATE_ID", violations,
+                () -> orderService.search(filter(null, null, FROM, TO, null, null), null, 20));
+        checkPlans("subtotal bounds", "IDX_ORDER_STORE_SUBTOTAL_ID", violations,
+                () -> orderService.search(filter(null, null, null, null, BigDecimal.ONE, BigDecimal.TEN), null, 20));
+        checkPlans("user, status and dates", "IDX_ORDER_STORE_", violations,
+                () -> orderService.search(filter(1L, Status.NEW, FROM, TO, null, null), 0L, 20));
+        checkPlans("status update by ids", "PRIMARY_KEY", violations,
+                () -> orderService.updateStatus(statusUpdate(List.of(-1L))));
+        checkPlans("status update by filter", "IDX_ORDER_STORE_STATUS_ID", violations,
+                () -> orderService.updateStatus(statusUpdate(null)));
+
+        assertTrue(violations.isEmpty(), "Queries not using their index:\n" + String.join("\n", violations));
+    }
+
+    /**
+     * A range scan of the primary key from a cursor of 0 reads the whole table just like a table scan, so
+     * every statement must name the index expected to serve it.
+     */
+    private void checkPlans(String name, String index, List<String> violations, Runnable query) {
+        List<String> statements = capture(query);
+        assertFalse(statements.isEmpty(), name + ": no statement captured");
+        for (String sql : statements) {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+            if (plan.contains("tableScan") || !plan.contains("/* PUBLIC." + index)) {
+                violations.add(name + ": " + plan);
+            }
+        }
+    }
+
+    private List<String> capture(Runnable query) {
+        jdbcTemplate.execute("SET QUERY_STATISTICS TRUE");
+        try {
+            query.run();
+            return jdbcTemplate.queryForList("SELECT SQL_STATEMENT FROM INFORMATION_SCHEMA.QUERY_STATISTICS", String.class)
+                    .stream()
+                    .filter(sql -> sql.contains("order_store"))
+                    .toList();
+        } finally {
+            jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+        }
+    }
+
+    private static OrderFilter filter(Long idUser, Status status, LocalDate from, LocalDate to,
+                                      BigDecimal minSubtotal, BigDecimal maxSubtotal) {
+        OrderFilter filter = new OrderFilter();
+        filter.setIdUser(idUser);
+        filter.setStatus(status);
+        filter.setFrom(from);
+        filter.setTo(to);
+        filter.setMinSubtotal(minSubtotal);
+        filter.setMaxSubtotal(maxSubtotal);
+        return filter;
+    }
+
+    private static OrderStatusUpdate statusUpdate(List<Long> ids) {
+        OrderStatusUpdate update = new OrderStatusUpdate();
+        update.setStatus(Status.IN_PROGRESS);
+        update.setIds(ids);
+        update.setFrom(FROM);
+        update.setTo(TO);
+        return update;
+    }
+}
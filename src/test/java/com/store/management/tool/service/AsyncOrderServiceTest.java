@@ -0,0 +1,163 @@
+package com.store.management.tool.service;
+
+import com.store.management.tool.config.OrderProperties;
+import com.store.management.tool.domain.Order;
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.dto.OrderBatchResult;
+import com.store.management.tool.dto.OrderTicket;
+import com.store.management.tool.repository.ProductRepository;
+import com.store.management.tool.utils.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class AsyncOrderServiceTest {
+
+    private static final int STOCK = 15;
+    private static final int ORDERS = 20;
+
+    @Autowired
+    private AsyncOrderService asyncOrderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void testSubmit_PlacesUntilOutOfStock() throws Exception {
+        Product product = productService.add(aProduct(STOCK));
+
+        List<OrderTicket> tickets = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            OrderTicket ticket = asyncOrderService.submit(anOrder(1L, product, 1));
+            assertTrue(ticket.isPending());
+            tickets.add(ticket);
+        }
+        List<OrderTicket> outcomes = awaitOutcomes(tickets);
+
+        assertEquals(STOCK, outcomes.stream().filter(ticket -> OrderBatchResult.CREATED.equals(ticket.getStatus())).count());
+        assertEquals(ORDERS - STOCK, outcomes.stream().filter(ticket -> OrderBatchResult.REJECTED.equals(ticket.getStatus())).count());
+        assertEquals(0, productRepository.findById(product.getId()).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void testSubmit_UnknownUserRejectedByWriter() throws Exception {
+        Product product = productService.add(aProduct(STOCK));
+
+        OrderTicket ticket = awaitOutcomes(List.of(asyncOrderService.submit(anOrder(-1L, product, 1)))).get(0);
+
+        assertEquals(OrderBatchResult.REJECTED, ticket.getStatus());
+        assertEquals(STOCK, productRepository.findById(product.getId()).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void testSubmit_InvalidOrderRejectedImmediately() {
+        Product product = productService.add(aProduct(STOCK));
+
+        assertThrows(IllegalArgumentException.class, () -> asyncOrderService.submit(anOrder(1L, product, 0)));
+    }
+
+    @Test
+    void testSubmit_TicketsOutliveBurstOfOutcomes() throws Exception {
+        OrderProperties properties = new OrderProperties();
+        properties.getAsync().setQueueCapacity(5);
+        properties.getAsync().setBatchSize(1);
+        OrderService orderService = mock(OrderService.class);
+        CountDownLatch writerBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger placed = new AtomicInteger();
+        when(orderService.addBatch(anyList())).thenAnswer(invocation -> {
+            if (placed.incrementAndGet() > 100) {
+                writerBusy.countDown();
+                release.await(10, TimeUnit.SECONDS);
+            }
+            return List.of(OrderBatchResult.created(0, (long) placed.get()));
+        });
+        AsyncOrderService service = new AsyncOrderService(orderService, properties, new SimpleMeterRegistry());
+        Product product = aProduct(STOCK);
+        product.setId(1L);
+        try {
+            for (int i = 0; i < 100; i++) {
+                awaitOutcomes(service, List.of(service.submit(anOrder(1L, product, 1))));
+            }
+            List<OrderTicket> waiting = new ArrayList<>();
+            waiting.add(service.submit(anOrder(1L, product, 1)));
+            assertTrue(writerBusy.await(10, TimeUnit.SECONDS));
+            for (int i = 0; i < 5; i++) {
+                waiting.add(service.submit(anOrder(1L, product, 1)));
+            }
+            Thread.sleep(200);
+
+            for (OrderTicket ticket : waiting) {
+                assertTrue(service.getTicket(ticket.getId()).orElseThrow().isPending());
+            }
+            release.countDown();
+            assertTrue(awaitOutcomes(service, waiting).stream()
+                    .allMatch(ticket -> OrderBatchResult.CREATED.equals(ticket.getStatus())));
+        } finally {
+            release.countDown();
+            service.shutdown();
+        }
+    }
+
+    private List<OrderTicket> awaitOutcomes(List<OrderTicket> tickets) throws InterruptedException {
+        return awaitOutcomes(asyncOrderService, tickets);
+    }
+
+    private List<OrderTicket> awaitOutcomes(AsyncOrderService service, List<OrderTicket> tickets) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (System.currentTimeMillis() < deadline) {
+            List<OrderTicket> outcomes = tickets.stream()
+                    .map(ticket -> service.getTicket(ticket.getId()).orElseThrow())
+                    .toList();
+            if (outcomes.stream().noneMatch(OrderTicket::isPending)) {
+                return outcomes;
+            }
+            Thread.sleep(20);
+        }
+        return fail("Orders were not placed in time");
+    }
+
+    private Product aProduct(int quantity) {
+        Product product = new Product();
+
+        product.setName("async product");
+        product.setDescription("description");
+        product.setPrice(BigDecimal.ONE);
+        product.setQuantity(quantity);
+
+        return product;
+    }
+
+    private Order anOrder(Long userId, Product product, int quantity) {
+        Order order = new Order();
+
+        order.setIdUser(userId);
+        order.setOrderDate(LocalDate.of(2024, 3, 24));
+        order.setStatus(Status.NEW);
+        Product line = new Product();
+        line.setId(product.getId());
+        line.setQuantity(quantity);
+        order.setProducts(Set.of(line));
+
+        return order;
+    }
+}
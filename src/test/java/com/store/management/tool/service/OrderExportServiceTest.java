@@ -0,0 +1,143 @@
+package com.store.management.tool.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.store.management.tool.domain.Order;
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.utils.Status;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OrderExportServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2031, 5, 14);
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Product first;
+    private Product second;
+
+    @BeforeAll
+    void setUp() throws Exception {
+        first = productService.add(aProduct("export first", "2.50"));
+        second = productService.add(aProduct("export, second", "4.00"));
+        orderService.add(anOrder(DAY, Status.NEW, first, second));
+        orderService.add(anOrder(DAY, Status.DELIVERED, second));
+        orderService.add(anOrder(DAY.plusDays(1), Status.NEW, first));
+    }
+
+    @Test
+    void testExportNdjson_OneOrderPerLineWithItsLines() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        orderExportService.exportNdjson(DAY, DAY, null, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        JsonNode order = objectMapper.readTree(lines[0]);
+        assertEquals("NEW", order.get("status").asText());
+        assertEquals("2031-05-14", order.get("orderDate").asText());
+        assertEquals(2, order.get("products").size());
+        assertEquals(first.getId(), order.get("products").get(0).get("id").asLong());
+        assertEquals(1, objectMapper.readTree(lines[1]).get("products").size());
+    }
+
+    @Test
+    void testExportCsv_OneRowPerLineFilteredByStatus() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        orderExportService.exportCsv(DAY, DAY.plusDays(1), Status.NEW, out);
+
+        String[] rows = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("orderId,orderDate,status,idUser,subtotal,productId,productName,unitPrice,quantity", rows[0]);
+        assertEquals(4, rows.length);
+        assertTrue(rows[2].contains(",2031-05-14,NEW,1,"));
+        assertTrue(rows[2].endsWith(second.getId() + ",\"export, second\",4.00,1"));
+        assertTrue(rows[3].contains(",2031-05-15,NEW,1,"));
+    }
+
+    @Test
+    void testExport_StreamedToAdmin() throws Exception {
+        String credentials = Base64.getEncoder().encodeToString("admin@gmail.com:0000".getBytes(StandardCharsets.UTF_8));
+        MvcResult result = mockMvc.perform(get("/api/orders/export?format=csv&from=2031-05-15&to=2031-05-15")
+                        .header(HttpHeaders.AUTHORIZATION, "Basic " + credentials))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=orders.csv"))
+                .andExpect(content().contentType("text/csv"));
+        assertEquals(2, result.getResponse().getContentAsString().split("\n").length);
+    }
+
+    @Test
+    void testExport_AnonymousRejected() throws Exception {
+        mockMvc.perform(get("/api/orders/export"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private Product aProduct(String name, String price) {
+        Product product = new Product();
+
+        product.setName(name);
+        product.setDescription("description");
+        product.setPrice(new BigDecimal(price));
+        product.setQuantity(100);
+
+        return product;
+    }
+
+    private Order anOrder(LocalDate date, Status status, Product... products) {
+        Order order = new Order();
+
+        order.setIdUser(1L);
+        order.setOrderDate(date);
+        order.setStatus(status);
+        Set<Product> lines = new LinkedHashSet<>();
+        for (Product product : products) {
+            Product line = new Product();
+            line.setId(product.getId());
+            line.setQuantity(1);
+            lines.add(line);
+        }
+        order.setProducts(lines);
+
+        return order;
+    }
+}
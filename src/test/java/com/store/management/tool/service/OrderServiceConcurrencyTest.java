@@ -0,0 +1,109 @@
+package com.store.management.tool.service;
+
+import com.store.management.tool.domain.Order;
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.repository.ProductRepository;
+import com.store.management.tool.utils.Status;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class OrderServiceConcurrencyTest {
+
+    private static final int STOCK = 50;
+    private static final int ORDERS = 400;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void testConcurrentOrders_NoOversell() throws Exception {
+        Product hotProduct = productService.add(aProduct(STOCK));
+        Product otherProduct = productService.add(aProduct(ORDERS));
+
+        AtomicInteger placed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < ORDERS; i++) {
+            // Alternate the line order so that unordered locking would deadlock.
+            boolean hotFirst = i % 2 == 0;
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    orderService.add(anOrder(hotFirst ? hotProduct : otherProduct, hotFirst ? otherProduct : hotProduct));
+                    placed.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(STOCK, placed.get());
+        assertEquals(ORDERS - STOCK, rejected.get());
+        assertEquals(0, productRepository.findById(hotProduct.getId()).orElseThrow().getQuantity());
+        assertEquals(ORDERS - STOCK, productRepository.findById(otherProduct.getId()).orElseThrow().getQuantity());
+    }
+
+    private Product aProduct(int quantity) {
+        Product product = new Product();
+
+        product.setName("hot product");
+        product.setDescription("description");
+        product.setPrice(BigDecimal.ONE);
+        product.setQuantity(quantity);
+
+        return product;
+    }
+
+    private Order anOrder(Product... products) {
+        Order order = new Order();
+
+        order.setIdUser(1L);
+        order.setOrderDate(LocalDate.of(2024, 3, 24));
+        order.setStatus(Status.NEW);
+        Set<Product> lines = new HashSet<>();
+        for (Product product : products) {
+            Product line = new Product();
+            line.setId(product.getId());
+            line.setPrice(product.getPrice());
+            line.setQuantity(1);
+            lines.add(line);
+        }
+        order.setProducts(lines);
+
+        return order;
+    }
+}
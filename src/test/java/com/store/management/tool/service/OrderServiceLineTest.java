@@ -0,0 +1,80 @@
+package com.store.management.tool.service;
+
+import com.store.management.tool.domain.Order;
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.dto.OrderProductResponse;
+import com.store.management.tool.dto.OrderResponse;
+import com.store.management.tool.utils.Status;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class OrderServiceLineTest {
+
+    private static final LocalDate ORDER_DATE = LocalDate.of(2031, 1, 15);
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void testLines_KeepQuantityAndPriceAtPurchase() throws Exception {
+        Product cheap = productService.add(aProduct("cheap", "2.50"));
+        Product expensive = productService.add(aProduct("expensive", "10.00"));
+
+        Order order = orderService.add(anOrder(orderProduct(cheap, 2), orderProduct(expensive, 1)));
+
+        cheap.setPrice(new BigDecimal("99.00"));
+        productService.update(cheap.getId(), cheap);
+
+        OrderResponse reloaded = orderService.getById(order.getId());
+        Map<Long, OrderProductResponse> lines = reloaded.getProducts().stream()
+                .collect(Collectors.toMap(OrderProductResponse::getId, line -> line));
+        assertEquals(0, new BigDecimal("15.00").compareTo(reloaded.getSubtotal()));
+        assertEquals(0, new BigDecimal("2.50").compareTo(lines.get(cheap.getId()).getPrice()));
+        assertEquals(2, lines.get(cheap.getId()).getQuantity());
+        assertEquals(0, new BigDecimal("10.00").compareTo(lines.get(expensive.getId()).getPrice()));
+    }
+
+    private Product aProduct(String name, String price) {
+        Product product = new Product();
+
+        product.setName(name);
+        product.setDescription("description");
+        product.setPrice(new BigDecimal(price));
+        product.setQuantity(100);
+
+        return product;
+    }
+
+    private Product orderProduct(Product product, int quantity) {
+        Product orderProduct = new Product();
+
+        orderProduct.setId(product.getId());
+        orderProduct.setQuantity(quantity);
+
+        return orderProduct;
+    }
+
+    private Order anOrder(Product... products) {
+        Order order = new Order();
+
+        order.setIdUser(1L);
+        order.setOrderDate(ORDER_DATE);
+        order.setStatus(Status.NEW);
+        order.setProducts(Set.of(products));
+
+        return order;
+    }
+}
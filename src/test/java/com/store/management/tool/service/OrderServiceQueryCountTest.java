@@ -0,0 +1,108 @@
+package com.store.management.tool.service;
+
+import com.store.management.tool.domain.Order;
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.dto.CursorPage;
+import com.store.management.tool.dto.OrderResponse;
+import com.store.management.tool.utils.Status;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderServiceQueryCountTest {
+
+    private static final int ORDERS = 30;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testGetAll_QueryCountIndependentOfPageSize() throws Exception {
+        Product first = productService.add(aProduct());
+        Product second = productService.add(aProduct());
+        Long after = null;
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = orderService.add(anOrder(first, second));
+            if (after == null) {
+                after = order.getId() - 1;
+            }
+        }
+
+        statistics.clear();
+        CursorPage<OrderResponse> page = orderService.getAll(after, ORDERS);
+
+        assertEquals(ORDERS, page.getItems().size());
+        page.getItems().forEach(order -> assertEquals(2, order.getProducts().size()));
+        // One query each for the orders, their lines and the ordered products.
+        assertTrue(statistics.getPrepareStatementCount() <= 3,
+                "Expected at most 3 statements, got " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetById_SingleQuery() throws Exception {
+        Product first = productService.add(aProduct());
+        Product second = productService.add(aProduct());
+        Order order = orderService.add(anOrder(first, second));
+
+        statistics.clear();
+        OrderResponse response = orderService.getById(order.getId());
+
+        assertEquals(2, response.getProducts().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private Product aProduct() {
+        Product product = new Product();
+
+        product.setName("product");
+        product.setDescription("description");
+        product.setPrice(BigDecimal.ONE);
+        product.setQuantity(ORDERS);
+
+        return product;
+    }
+
+    private Order anOrder(Product... products) {
+        Order order = new Order();
+
+        order.setIdUser(1L);
+        order.setOrderDate(LocalDate.of(2024, 3, 24));
+        order.setStatus(Status.NEW);
+        Set<Product> lines = new HashSet<>();
+        for (Product product : products) {
+            Product line = new Product();
+            line.setId(product.getId());
+            line.setPrice(product.getPrice());
+            line.setQuantity(1);
+            lines.add(line);
+        }
+        order.setProducts(lines);
+
+        return order;
+    }
+}
@@ -0,0 +1,86 @@
+package com.store.management.tool.service;
+
+import com.store.management.tool.domain.Order;
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.dto.OrderResponse;
+import com.store.management.tool.dto.SalesReport;
+import com.store.management.tool.repository.SalesRollupRepository;
+import com.store.management.tool.utils.Status;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.ConcurrencyFailureException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+class OrderServiceRetryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2035, 2, 1);
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private SalesReportService salesReportService;
+
+    @SpyBean
+    private SalesRollupRepository salesRollupRepository;
+
+    @Test
+    void testAdd_RetriedAfterConflictPlacesOrderOnce() throws Exception {
+        Product product = productService.add(aProduct());
+        doThrow(new ConcurrencyFailureException("Sales rollup row was created concurrently"))
+                .doCallRealMethod()
+                .when(salesRollupRepository).apply(any());
+
+        Order order = orderService.add(anOrder(product, 1));
+
+        verify(salesRollupRepository, times(2)).apply(any());
+        OrderResponse saved = orderService.getById(order.getId());
+        assertEquals(0, new BigDecimal("2.00").compareTo(saved.getSubtotal()));
+        assertEquals(1, saved.getProducts().size());
+        assertEquals(1, saved.getProducts().get(0).getQuantity());
+        assertEquals(9, productService.getById(product.getId()).getQuantity());
+
+        SalesReport report = salesReportService.getSales(DAY, DAY, 10);
+        assertEquals(1, report.getOrders());
+        assertEquals(1, report.getUnits());
+        assertEquals(0, new BigDecimal("2.00").compareTo(report.getRevenue()));
+    }
+
+    private Product aProduct() {
+        Product product = new Product();
+
+        product.setName("retried product");
+        product.setDescription("description");
+        product.setPrice(new BigDecimal("2.00"));
+        product.setQuantity(10);
+
+        return product;
+    }
+
+    private Order anOrder(Product product, int quantity) {
+        Order order = new Order();
+
+        order.setIdUser(1L);
+        order.setOrderDate(DAY);
+        order.setStatus(Status.NEW);
+        Product line = new Product();
+        line.setId(product.getId());
+        line.setQuantity(quantity);
+        order.setProducts(Set.of(line));
+
+        return order;
+    }
+}
@@ -0,0 +1,105 @@
+package com.store.management.tool.service;
+
+import com.store.management.tool.domain.Order;
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.dto.CursorPage;
+import com.store.management.tool.dto.OrderFilter;
+import com.store.management.tool.dto.OrderResponse;
+import com.store.management.tool.utils.Status;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderServiceSearchTest {
+
+    private static final LocalDate DAY = LocalDate.of(2034, 6, 1);
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testSearch_FiltersCombinedAndPagedById() throws Exception {
+        Product product = productService.add(aProduct());
+        Order small = orderService.add(anOrder(product, 1, DAY));
+        Order large = orderService.add(anOrder(product, 5, DAY));
+        Order later = orderService.add(anOrder(product, 5, DAY.plusDays(1)));
+        orderService.add(anOrder(product, 5, DAY.plusDays(10)));
+
+        OrderFilter filter = new OrderFilter();
+        filter.setIdUser(1L);
+        filter.setStatus(Status.NEW);
+        filter.setFrom(DAY);
+        filter.setTo(DAY.plusDays(1));
+        filter.setMinSubtotal(new BigDecimal("5.00"));
+        CursorPage<OrderResponse> first = orderService.search(filter, null, 1);
+        CursorPage<OrderResponse> second = orderService.search(filter, first.getNext(), 1);
+
+        assertEquals(List.of(large.getId()), first.getItems().stream().map(OrderResponse::getId).toList());
+        assertEquals(large.getId(), first.getNext());
+        assertEquals(List.of(later.getId()), second.getItems().stream().map(OrderResponse::getId).toList());
+        assertNull(second.getNext());
+        assertNotEquals(small.getId(), first.getItems().get(0).getId());
+    }
+
+    @Test
+    void testUserOrders_OnlyOrdersOfTheUser() throws Exception {
+        Product product = productService.add(aProduct());
+        orderService.add(anOrder(product, 1, DAY));
+
+        mockMvc.perform(get("/api/users/1/orders?size=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].idUser", everyItem(is(1))));
+        mockMvc.perform(get("/api/orders?idUser=1&status=NEW&from=2034-06-01&to=2034-06-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].orderDate", everyItem(is("2034-06-01"))));
+        mockMvc.perform(get("/api/users/-1/orders"))
+                .andExpect(status().isNotFound());
+    }
+
+    private Product aProduct() {
+        Product product = new Product();
+
+        product.setName("searched product");
+        product.setDescription("description");
+        product.setPrice(BigDecimal.ONE);
+        product.setQuantity(100);
+
+        return product;
+    }
+
+    private Order anOrder(Product product, int quantity, LocalDate date) {
+        Order order = new Order();
+
+        order.setIdUser(1L);
+        order.setOrderDate(date);
+        order.setStatus(Status.NEW);
+        Product line = new Product();
+        line.setId(product.getId());
+        line.setQuantity(quantity);
+        order.setProducts(Set.of(line));
+
+        return order;
+    }
+}
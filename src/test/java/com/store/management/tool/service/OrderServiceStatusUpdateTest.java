@@ -0,0 +1,174 @@
+package com.store.management.tool.service;
+
+import com.store.management.tool.domain.Order;
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.dto.OrderStatusUpdate;
+import com.store.management.tool.dto.OrderStatusUpdateResult;
+import com.store.management.tool.utils.Status;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class OrderServiceStatusUpdateTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testUpdateStatus_ListedOrdersMovedOrRejected() throws Exception {
+        Product product = productService.add(aProduct());
+        LocalDate date = LocalDate.of(2032, 1, 10);
+        Order first = orderService.add(anOrder(product, date));
+        Order second = orderService.add(anOrder(product, date));
+        Order delivered = orderService.add(anOrder(product, date));
+        delivered.setStatus(Status.IN_PROGRESS);
+        orderService.updateOrder(delivered.getId(), withProduct(delivered, product));
+        long version = orderService.getById(first.getId()).getVersion();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        OrderStatusUpdateResult result = orderService.updateStatus(anUpdate(Status.IN_PROGRESS,
+                List.of(second.getId(), first.getId(), delivered.getId(), -1L)));
+
+        assertEquals(List.of(first.getId(), second.getId()), result.getTransitioned());
+        assertEquals(Arrays.asList(-1L, delivered.getId()), result.getRejected().stream().map(OrderStatusUpdateResult.RejectedOrder::getId).toList());
+        assertEquals("Order with id " + delivered.getId() + " is IN_PROGRESS and cannot move to IN_PROGRESS", result.getRejected().get(1).getError());
+        // One locking select and one update.
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(Status.IN_PROGRESS, orderService.getById(first.getId()).getStatus());
+        assertEquals(version + 1, orderService.getById(first.getId()).getVersion());
+    }
+
+    @Test
+    void testUpdateStatus_FilterMovesOrdersInPrecedingStatus() throws Exception {
+        Product product = productService.add(aProduct());
+        LocalDate date = LocalDate.of(2032, 2, 20);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(orderService.add(anOrder(product, date)).getId());
+        }
+        Long outside = orderService.add(anOrder(product, date.plusDays(1))).getId();
+
+        OrderStatusUpdate update = anUpdate(Status.IN_PROGRESS, null);
+        update.setFrom(date);
+        update.setTo(date);
+        OrderStatusUpdateResult moved = orderService.updateStatus(update);
+        update.setStatus(Status.DELIVERED);
+        OrderStatusUpdateResult delivered = orderService.updateStatus(update);
+
+        assertEquals(ids, moved.getTransitioned());
+        assertEquals(ids, delivered.getTransitioned());
+        assertTrue(delivered.getRejected().isEmpty());
+        assertEquals(Status.DELIVERED, orderService.getById(ids.get(0)).getStatus());
+        assertEquals(Status.NEW, orderService.getById(outside).getStatus());
+    }
+
+    @Test
+    void testUpdateStatus_BackToNewRejected() {
+        assertThrows(IllegalArgumentException.class, () -> orderService.updateStatus(anUpdate(Status.NEW, List.of(1L))));
+        assertThrows(IllegalArgumentException.class, () -> orderService.updateStatus(anUpdate(null, List.of(1L))));
+    }
+
+    @Test
+    void testUpdateStatus_WithoutIdsOrDatesRejected() throws Exception {
+        Product product = productService.add(aProduct());
+        Long id = orderService.add(anOrder(product, LocalDate.of(2032, 3, 1))).getId();
+
+        assertThrows(IllegalArgumentException.class, () -> orderService.updateStatus(anUpdate(Status.IN_PROGRESS, null)));
+        mockMvc.perform(patch("/api/orders/status")
+                        .header(HttpHeaders.AUTHORIZATION, basic("admin@gmail.com"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"IN_PROGRESS\"}"))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(Status.NEW, orderService.getById(id).getStatus());
+    }
+
+    @Test
+    void testUpdateStatus_AdminOnly() throws Exception {
+        String update = String.format("{\"status\":\"IN_PROGRESS\",\"ids\":[%d]}", Long.MAX_VALUE);
+
+        mockMvc.perform(patch("/api/orders/status").contentType(MediaType.APPLICATION_JSON).content(update))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(patch("/api/orders/status")
+                        .header(HttpHeaders.AUTHORIZATION, basic("client@gmail.com"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(update))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(patch("/api/orders/status")
+                        .header(HttpHeaders.AUTHORIZATION, basic("admin@gmail.com"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(update))
+                .andExpect(status().isOk());
+    }
+
+    private static String basic(String email) {
+        return "Basic " + Base64.getEncoder().encodeToString((email + ":0000").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private OrderStatusUpdate anUpdate(Status status, List<Long> ids) {
+        OrderStatusUpdate update = new OrderStatusUpdate();
+        update.setStatus(status);
+        update.setIds(ids);
+        return update;
+    }
+
+    private Product aProduct() {
+        Product product = new Product();
+
+        product.setName("status product");
+        product.setDescription("description");
+        product.setPrice(BigDecimal.ONE);
+        product.setQuantity(100);
+
+        return product;
+    }
+
+    private Order anOrder(Product product, LocalDate date) {
+        Order order = new Order();
+
+        order.setIdUser(1L);
+        order.setOrderDate(date);
+        order.setStatus(Status.NEW);
+        return withProduct(order, product);
+    }
+
+    private Order withProduct(Order order, Product product) {
+        Product line = new Product();
+        line.setId(product.getId());
+        line.setQuantity(1);
+        order.setProducts(Set.of(line));
+        return order;
+    }
+}
@@ -3,14 +3,17 @@ package com.store.management.tool.service;
 import com.store.management.tool.domain.Order;
 import com.store.management.tool.domain.Product;
 import com.store.management.tool.domain.User;
+import com.store.management.tool.dto.OrderBatchResult;
 import com.store.management.tool.exception.ResourceNotFoundException;
 import com.store.management.tool.repository.OrderRepository;
+import com.store.management.tool.repository.SalesRollupRepository;
 import com.store.management.tool.utils.Status;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -34,6 +37,18 @@ class OrderServiceTest {
     @Mock
     private ProductService productService;
 
+    @Mock
+    private SalesRollupRepository salesRollupRepository;
+
+    @Mock
+    private StockMetrics stockMetrics;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
     @Test
     void testAddOrder_EmptyProducts() throws ResourceNotFoundException {
         Order order = new Order();
@@ -53,14 +68,15 @@ class OrderServiceTest {
         Order order = anOrder();
 
         when(userService.getById(order.getIdUser())).thenReturn(new User());
-        when(productService.getById(1L)).thenReturn(product);
-        when(orderRepository.save(order)).thenReturn(order);
+        when(productService.decreaseStock(Map.of(1L, 15))).thenReturn(List.of(product));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Order addedOrder = orderService.add(order);
 
         assertNotNull(addedOrder);
         assertEquals(BigDecimal.valueOf(15), addedOrder.getSubtotal());
-        verify(orderRepository, times(1)).save(order);
+        assertEquals(1, addedOrder.getLines().size());
+        verify(orderRepository, times(1)).save(addedOrder);
     }
 
     @Test
@@ -71,10 +87,10 @@ class OrderServiceTest {
         updatedOrderDetails.setSubtotal(BigDecimal.valueOf(26));
         updatedOrderDetails.setStatus(Status.IN_PROGRESS);
 
-        when(orderRepository.findById(orderId)).thenReturn(java.util.Optional.of(existingOrder));
+        when(orderRepository.findForUpdateById(orderId)).thenReturn(java.util.Optional.of(existingOrder));
         when(orderRepository.save(any(Order.class))).thenReturn(existingOrder);
         when(userService.getById(anyLong())).thenReturn(new User());
-        when(productService.getById(anyLong())).thenReturn(aProduct());
+        when(productService.decreaseStock(anyMap())).thenReturn(List.of(aProduct()));
 
         Order updatedOrder = orderService.updateOrder(orderId, updatedOrderDetails);
 
@@ -87,7 +103,7 @@ class OrderServiceTest {
         long orderId = 1L;
         Order updatedOrderDetails = new Order();
 
-        when(orderRepository.findById(orderId)).thenReturn(java.util.Optional.empty());
+        when(orderRepository.findForUpdateById(orderId)).thenReturn(java.util.Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> orderService.updateOrder(orderId, updatedOrderDetails));
 
@@ -120,6 +136,61 @@ class OrderServiceTest {
         verify(orderRepository, never()).delete(any(Order.class));
     }
 
+    @Test
+    void testAddBatch_RejectsInvalidOrdersAndPlacesTheRest() {
+        Order placed = anOrder();
+        placed.setId(null);
+        Order unknownUser = anOrder();
+        unknownUser.setIdUser(2L);
+        Order exceedsRemainingStock = anOrder();
+
+        when(userService.getExistingIds(Set.of(1L, 2L))).thenReturn(Set.of(1L));
+        when(productService.getAllForUpdate(Set.of(1L))).thenReturn(List.of(aProduct()));
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            orders.forEach(order -> order.setId(100L));
+            return orders;
+        });
+
+        List<OrderBatchResult> results = orderService.addBatch(List.of(placed, unknownUser, exceedsRemainingStock));
+
+        assertEquals(OrderBatchResult.CREATED, results.get(0).getStatus());
+        assertEquals(100L, results.get(0).getOrderId());
+        assertEquals(OrderBatchResult.REJECTED, results.get(1).getStatus());
+        assertEquals("Insufficient stock to fulfill order", results.get(2).getError());
+        verify(productService, times(1)).decreaseStock(Map.of(1L, 15));
+        verify(orderRepository, times(1)).saveAll(argThat(orders -> ((List<Order>) orders).size() == 1));
+    }
+
+    @Test
+    void testAddBatch_AllRejectedSkipsWrites() {
+        Order unknownUser = anOrder();
+
+        when(userService.getExistingIds(Set.of(1L))).thenReturn(Set.of());
+        when(productService.getAllForUpdate(Set.of(1L))).thenReturn(List.of(aProduct()));
+
+        List<OrderBatchResult> results = orderService.addBatch(List.of(unknownUser));
+
+        assertEquals(OrderBatchResult.REJECTED, results.get(0).getStatus());
+        verify(productService, never()).decreaseStock(anyMap());
+        verify(orderRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testAddOrder_NonPositiveOrMissingQuantityRejected() throws ResourceNotFoundException {
+        when(userService.getById(1L)).thenReturn(new User());
+
+        for (Integer quantity : Arrays.asList(-5, 0, null)) {
+            Order order = anOrder();
+            order.getProducts().forEach(product -> product.setQuantity(quantity));
+
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> orderService.add(order));
+            assertEquals("Every product needs an id and a positive quantity", e.getMessage());
+        }
+        verify(productService, never()).decreaseStock(anyMap());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
     private Product aProduct() {
         Product product = new Product();
 
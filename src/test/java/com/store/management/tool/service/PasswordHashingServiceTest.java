@@ -0,0 +1,103 @@
+package com.store.management.tool.service;
+
+import com.store.management.tool.config.PasswordHashingProperties;
+import com.store.management.tool.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PasswordHashingServiceTest {
+
+    private final PasswordEncoder passwordEncoder = spy(new BCryptPasswordEncoder(4));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHashingService passwordHashingService;
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingService.shutdown();
+    }
+
+    @Test
+    void testHashIfChanged_SamePasswordKeepsHash() {
+        passwordHashingService = aService(1, 10);
+        String hash = passwordHashingService.hash("secret");
+
+        assertEquals(hash, passwordHashingService.hashIfChanged("secret", hash));
+        assertEquals(hash, passwordHashingService.hashIfChanged(hash, hash));
+        verify(passwordEncoder, times(1)).encode("secret");
+        assertEquals(2, meterRegistry.get("password.hashing.duration").timer().count());
+    }
+
+    @Test
+    void testHashIfChanged_NewPasswordRehashed() {
+        passwordHashingService = aService(1, 10);
+        String hash = passwordHashingService.hash("secret");
+
+        String newHash = passwordHashingService.hashIfChanged("other", hash);
+
+        assertNotEquals(hash, newHash);
+        assertTrue(passwordEncoder.matches("other", newHash));
+    }
+
+    @Test
+    void testMatches_VerifiedOnHashingPool() {
+        passwordHashingService = aService(1, 10);
+        String hash = passwordHashingService.hash("secret");
+        List<String> threads = new ArrayList<>();
+        doAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return invocation.callRealMethod();
+        }).when(passwordEncoder).matches(anyString(), anyString());
+
+        assertTrue(passwordHashingService.matches("secret", hash));
+        assertFalse(passwordHashingService.matches("other", hash));
+
+        assertEquals(2, threads.size());
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("password-hashing-")), threads.toString());
+    }
+
+    @Test
+    void testHash_RejectsWhenQueueIsFull() throws Exception {
+        passwordHashingService = aService(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            return "hash";
+        }).when(passwordEncoder).encode(anyString());
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        List<Future<String>> pending = new ArrayList<>();
+        pending.add(callers.submit(() -> passwordHashingService.hash("first")));
+        pending.add(callers.submit(() -> passwordHashingService.hash("second")));
+        while (meterRegistry.get("password.hashing.queue.size").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(ServiceUnavailableException.class, () -> passwordHashingService.hash("third"));
+
+        release.countDown();
+        for (Future<String> future : pending) {
+            assertEquals("hash", future.get());
+        }
+        callers.shutdown();
+    }
+
+    private PasswordHashingService aService(int threads, int queueCapacity) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setThreads(threads);
+        properties.setQueueCapacity(queueCapacity);
+        return new PasswordHashingService(passwordEncoder, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,199 @@
+package com.store.management.tool.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.dto.CursorPage;
+import com.store.management.tool.utils.ETags;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doReturn;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs on a database of its own, so the products and refreshes of other test classes never reach this catalog.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:product-catalog-test")
+@AutoConfigureMockMvc
+class ProductCatalogTest {
+
+    private static final Duration REFRESH_TIMEOUT = Duration.ofSeconds(10);
+
+    @SpyBean
+    private ProductCatalog productCatalog;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testPage_SameBytesAndETagAsDatabasePage() throws Exception {
+        Product first = productService.add(aProduct("catalog first", 10));
+        Product second = productService.add(aProduct("catalog second", 10));
+        productService.decreaseStock(Map.of(second.getId(), 3));
+        assertTrue(productCatalog.awaitRefresh(REFRESH_TIMEOUT));
+
+        assertSamePage(null, 50);
+        assertSamePage(first.getId() - 1, 1);
+        assertSamePage(first.getId() - 1, 2);
+        assertSamePage(second.getId(), 5);
+    }
+
+    @Test
+    void testGetAll_GzippedFirstPage() throws Exception {
+        productService.add(aProduct("catalog gzipped", 10));
+        assertTrue(productCatalog.awaitRefresh(REFRESH_TIMEOUT));
+
+        MockHttpServletResponse plain = mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        MockHttpServletResponse gzipped = mockMvc.perform(get("/api/products").header(HttpHeaders.ACCEPT_ENCODING, "gzip, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getContentAsByteArray()))) {
+            assertArrayEquals(plain.getContentAsByteArray(), in.readAllBytes());
+        }
+        assertEquals(plain.getHeader(HttpHeaders.ETAG), gzipped.getHeader(HttpHeaders.ETAG));
+        mockMvc.perform(get("/api/products").header(HttpHeaders.IF_NONE_MATCH, plain.getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void testGetAll_GzipRefusedOrNotNegotiatedServedPlain() throws Exception {
+        productService.add(aProduct("catalog plain", 10));
+        assertTrue(productCatalog.awaitRefresh(REFRESH_TIMEOUT));
+
+        for (String acceptEncoding : List.of("gzip;q=0", "x-gzip-foo", "*;q=0.5, gzip;q=0", "br, identity")) {
+            MockHttpServletResponse response = mockMvc.perform(get("/api/products")
+                            .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                    .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                    .andReturn().getResponse();
+            assertEquals('{', response.getContentAsString().charAt(0), acceptEncoding);
+        }
+        for (String acceptEncoding : List.of("GZIP;q=0.8", "*", "x-gzip", "gzip;q=0, gzip")) {
+            mockMvc.perform(get("/api/products").header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+                    .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+        }
+    }
+
+    @Test
+    void testGetAll_DatabaseFallbackVariesByAcceptEncoding() throws Exception {
+        productService.add(aProduct("catalog fallback", 10));
+        doReturn(null).when(productCatalog).page(any(), anyInt());
+
+        MockHttpServletResponse response = mockMvc.perform(get("/api/products").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn().getResponse();
+        mockMvc.perform(get("/api/products").header(HttpHeaders.IF_NONE_MATCH, response.getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)));
+    }
+
+    @Test
+    void testRefresh_LoadsOnlyChangedRows() throws Exception {
+        assertTrue(productCatalog.awaitRefresh(REFRESH_TIMEOUT));
+        long refreshes = meterRegistry.get("product.catalog.refresh").timer().count();
+        double rows = meterRegistry.get("product.catalog.refresh.rows").counter().count();
+
+        Product product = productService.add(aProduct("catalog refreshed", 10));
+        productService.decreaseStock(Map.of(product.getId(), 1));
+        assertTrue(productCatalog.awaitRefresh(REFRESH_TIMEOUT));
+
+        long newRefreshes = meterRegistry.get("product.catalog.refresh").timer().count() - refreshes;
+        double newRows = meterRegistry.get("product.catalog.refresh.rows").counter().count() - rows;
+        assertTrue(newRefreshes >= 1 && newRefreshes <= 2, "refreshes: " + newRefreshes);
+        assertEquals(newRefreshes, newRows);
+        JsonNode item = objectMapper.readTree(productCatalog.page(product.getId() - 1, 1).getJson()).get("items").get(0);
+        assertEquals(product.getId(), item.get("id").asLong());
+        assertEquals(9, item.get("quantity").asInt());
+    }
+
+    @Test
+    void testWithChanges_CopyOnWrite() {
+        ProductCatalogSnapshot snapshot = ProductCatalogSnapshot.build(1,
+                List.of(aProduct(1L), aProduct(3L), aProduct(5L)), this::encodeId, 2);
+
+        ProductCatalogSnapshot changed = snapshot.withChanges(2, List.of(aProduct(4L), aProduct(1L), aProduct(7L)),
+                Set.of(1L, 3L, 4L, 7L), this::encodeId);
+
+        assertEquals("{\"items\":[1,3],\"next\":3}", json(snapshot.page(null, 2)));
+        assertEquals("{\"items\":[1,4],\"next\":4}", json(changed.page(null, 2)));
+        assertEquals("{\"items\":[5,7],\"next\":null}", json(changed.page(4L, 2)));
+        assertEquals("{\"items\":[],\"next\":null}", json(changed.page(7L, 2)));
+        assertTrue(changed.page(7L, 2).isEmpty());
+        assertEquals(2, changed.getGeneration());
+    }
+
+    private void assertSamePage(Long after, int size) throws Exception {
+        CursorPage<Product> expected = productService.getAll(after, size);
+        ProductCatalogSnapshot.Page page = productCatalog.page(after, size);
+
+        assertNotNull(page);
+        assertEquals(objectMapper.writeValueAsString(expected), json(page));
+        assertEquals(ETags.ofPage(expected, Product::getId, Product::getVersion), page.getEtag());
+        assertEquals(expected.getItems().isEmpty(), page.isEmpty());
+    }
+
+    private static String json(ProductCatalogSnapshot.Page page) {
+        return new String(page.getJson(), StandardCharsets.UTF_8);
+    }
+
+    private byte[] encodeId(Product product) {
+        return product.getId().toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private Product aProduct(Long id) {
+        Product product = aProduct("product " + id, 1);
+        product.setId(id);
+        product.setVersion(0L);
+        return product;
+    }
+
+    private Product aProduct(String name, int quantity) {
+        Product product = new Product();
+
+        product.setName(name);
+        product.setDescription("description");
+        product.setPrice(new BigDecimal("2.50"));
+        product.setQuantity(quantity);
+
+        return product;
+    }
+}
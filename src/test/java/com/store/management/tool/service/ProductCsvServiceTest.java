@@ -0,0 +1,120 @@
+package com.store.management.tool.service;
+
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.dto.ProductImportResult;
+import com.store.management.tool.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest(properties = "store.products.csv.chunk-size=2")
+class ProductCsvServiceTest {
+
+    @Autowired
+    private ProductCsvService productCsvService;
+
+    @SpyBean
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void testImportCsv_UpsertsAndReportsRejectedRows() throws Exception {
+        Product existing = productService.add(aProduct("csv existing"));
+        String csv = """
+                id,name,description,price,quantity
+                ,csv existing,"updated, with comma",2.50,7
+                ,csv new,"multi
+                line",1.00,3
+                ,csv invalid,,abc,3
+                %d,csv renamed,,4.00,1
+                """.formatted(existing.getId());
+
+        ProductImportResult result = productCsvService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(1, result.getCreated());
+        assertEquals(2, result.getUpdated());
+        assertEquals(1, result.getRejectedCount());
+        assertEquals("Invalid price 'abc'", result.getRejected().get(0).getError());
+        Product updated = productRepository.findById(existing.getId()).orElseThrow();
+        assertEquals("csv renamed", updated.getName());
+        assertEquals(1, updated.getQuantity());
+        assertEquals(1, productRepository.findByNameIn(List.of("csv new")).size());
+    }
+
+    @Test
+    void testImportCsv_RejectsRowsThatDoNotFitTheColumns() throws Exception {
+        String csv = """
+                id,name,description,price,quantity
+                ,%s,,1.00,1
+                ,csv too precise,,1.005,1
+                ,csv too expensive,,123456789.00,1
+                ,csv fits,,99999999.9,1
+                """.formatted("n".repeat(256));
+
+        ProductImportResult result = productCsvService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(1, result.getCreated());
+        assertEquals(List.of(2L, 3L, 4L), result.getRejected().stream().map(ProductImportResult.RejectedRow::getRow).toList());
+        assertEquals("Column 'name' must be at most 255 characters", result.getRejected().get(0).getError());
+        assertEquals("Price must have at most 2 decimals", result.getRejected().get(1).getError());
+        assertEquals(0, new BigDecimal("99999999.90").compareTo(
+                productRepository.findByNameIn(List.of("csv fits")).get(0).getPrice()));
+    }
+
+    @Test
+    void testImportCsv_ChunkRefusedByDatabaseRetriedRowByRow() throws Exception {
+        doThrow(new DataIntegrityViolationException("refused"))
+                .when(productService).upsert(argThat(chunk -> chunk.stream().anyMatch(row -> row.getName().equals("csv refused"))));
+        String csv = """
+                id,name,description,price,quantity
+                ,csv accepted,,1.00,1
+                ,csv refused,,1.00,1
+                ,csv after,,1.00,1
+                """;
+
+        ProductImportResult result = productCsvService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, result.getCreated());
+        assertEquals(1, result.getRejectedCount());
+        assertEquals(3L, result.getRejected().get(0).getRow());
+        assertEquals(1, productRepository.findByNameIn(List.of("csv accepted")).size());
+        assertTrue(productRepository.findByNameIn(List.of("csv refused")).isEmpty());
+    }
+
+    @Test
+    void testExportCsv_WritesEveryProduct() throws Exception {
+        Product product = productService.add(aProduct("csv, \"quoted\" export"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        productCsvService.exportCsv(out);
+        String csv = out.toString(StandardCharsets.UTF_8);
+
+        assertTrue(csv.startsWith("id,name,description,price,quantity\n"));
+        assertTrue(csv.contains(product.getId() + ",\"csv, \"\"quoted\"\" export\",description,1.00,15\n"));
+    }
+
+    private Product aProduct(String name) {
+        Product product = new Product();
+
+        product.setName(name);
+        product.setDescription("description");
+        product.setPrice(BigDecimal.ONE);
+        product.setQuantity(15);
+
+        return product;
+    }
+}
@@ -0,0 +1,125 @@
+package com.store.management.tool.service;
+
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.dto.SearchPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        index.put(aProduct(1L, "Red Chair", "Wooden chair for the kitchen"));
+        index.put(aProduct(2L, "Kitchen Table", "Oak table, seats four on matching chairs"));
+        index.put(aProduct(3L, "Chairman's Desk", "Large desk"));
+        index.put(aProduct(4L, "Café lamp", "Reading lamp"));
+    }
+
+    @Test
+    void testSearch_RanksNameAndWholeWordMatchesFirst() {
+        SearchPage<Long> result = index.search("chair", 0, 10);
+
+        assertEquals(List.of(1L, 3L, 2L), result.getItems());
+        assertEquals(3, result.getTotal());
+        assertNull(result.getNext());
+    }
+
+    @Test
+    void testSearch_AllTokensMustMatchAsPrefixes() {
+        assertEquals(List.of(1L, 2L), index.search("kit CHA", 0, 10).getItems());
+        assertEquals(List.of(1L), index.search("red kit", 0, 10).getItems());
+        assertEquals(List.of(2L), index.search("oak kitchen", 0, 10).getItems());
+        assertTrue(index.search("chair sofa", 0, 10).getItems().isEmpty());
+    }
+
+    @Test
+    void testSearch_IgnoresCaseAndAccents() {
+        assertEquals(List.of(4L), index.search("CAFE", 0, 10).getItems());
+    }
+
+    @Test
+    void testSearch_Paginates() {
+        SearchPage<Long> first = index.search("chair", 0, 2);
+        SearchPage<Long> second = index.search("chair", first.getNext(), 2);
+
+        assertEquals(List.of(1L, 3L), first.getItems());
+        assertEquals(2, first.getNext());
+        assertEquals(List.of(2L), second.getItems());
+        assertNull(second.getNext());
+    }
+
+    @Test
+    void testPutAndRemove_ReplaceIndexedTerms() {
+        index.put(aProduct(1L, "Blue Sofa", null));
+        index.remove(3L);
+
+        assertEquals(List.of(2L), index.search("chair", 0, 10).getItems());
+        assertEquals(List.of(1L), index.search("sofa", 0, 10).getItems());
+        assertTrue(index.search("desk", 0, 10).getItems().isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testSearch_ShortPrefixesFollowUpdates() {
+        assertEquals(List.of(1L, 3L, 4L, 2L), index.search("c", 0, 10).getItems());
+        assertEquals(List.of(1L, 3L, 2L), index.search("ch", 0, 10).getItems());
+
+        index.put(aProduct(3L, "Desk", "Large desk"));
+        index.put(aProduct(5L, "Chaise longue", null));
+
+        assertEquals(List.of(1L, 5L, 2L), index.search("cha", 0, 10).getItems());
+        assertEquals(List.of(4L), index.search("caf", 0, 10).getItems());
+    }
+
+    @Test
+    void testSearch_ProductsAcrossBlocks() {
+        List<Product> products = new ArrayList<>();
+        for (long id = 1; id <= 100_000; id++) {
+            products.add(aProduct(id, (id % 3 == 0 ? "steel" : "oak") + " shelf " + id, id % 10_000 == 0 ? "rare" : null));
+        }
+        ProductSearchIndex large = ProductSearchIndex.build(products);
+
+        assertEquals(33_333, large.search("steel", 0, 5).getTotal());
+        assertEquals(List.of(3L, 6L, 9L), large.search("st shelf", 0, 3).getItems());
+        assertEquals(10, large.search("rare", 0, 20).getTotal());
+
+        large.update(List.of(aProduct(70_000L, "steel shelf 70000", null), aProduct(100_001L, "steel rare", null)),
+                List.of(3L, 80_000L));
+
+        assertEquals(33_334, large.search("st", 0, 5).getTotal());
+        assertEquals(List.of(100_001L, 10_000L, 20_000L), large.search("rare", 0, 3).getItems());
+        assertEquals(9, large.search("rare", 0, 3).getTotal());
+        assertEquals(List.of(6L, 9L), large.search("steel", 0, 2).getItems());
+        assertEquals(List.of(70_000L), large.search("steel shelf 70000", 0, 5).getItems());
+    }
+
+    @Test
+    void testSearch_OffsetLimited() {
+        assertThrows(IllegalArgumentException.class, () -> index.search("chair", ProductSearchIndex.MAX_OFFSET + 1, 10));
+        assertThrows(IllegalArgumentException.class, () -> index.search("chair", 0, 0));
+        assertEquals(List.of(2L), index.search("chair", 2, Integer.MAX_VALUE - 1).getItems());
+    }
+
+    @Test
+    void testSearch_BlankQuery() {
+        assertEquals(0, index.search("  ,. ", 0, 10).getTotal());
+    }
+
+    private Product aProduct(Long id, String name, String description) {
+        Product product = new Product();
+
+        product.setId(id);
+        product.setName(name);
+        product.setDescription(description);
+
+        return product;
+    }
+}
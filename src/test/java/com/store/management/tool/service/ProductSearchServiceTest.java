@@ -0,0 +1,55 @@
+package com.store.management.tool.service;
+
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.dto.SearchPage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ProductSearchServiceTest {
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void testSearch_FollowsProductChanges() throws Exception {
+        Product lamp = productService.add(aProduct("Zephyrine lamp", "Brass desk lamp"));
+        Product stool = productService.add(aProduct("Bar stool", "Matches the zephyrine lamp"));
+
+        SearchPage<Product> found = productSearchService.search("zephyr", 0, 10);
+        assertEquals(List.of(lamp.getId(), stool.getId()), found.getItems().stream().map(Product::getId).toList());
+
+        lamp.setName("Brass lamp");
+        productService.update(lamp.getId(), lamp);
+        productService.delete(stool.getId());
+
+        assertTrue(productSearchService.search("zephyr", 0, 10).getItems().isEmpty());
+        assertEquals(lamp.getId(), productSearchService.search("brass lamp", 0, 10).getItems().get(0).getId());
+    }
+
+    @Test
+    void testSearch_OffsetOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> productSearchService.search("lamp", -1, 10));
+        assertThrows(IllegalArgumentException.class, () -> productSearchService.search("lamp", Integer.MAX_VALUE, 10));
+    }
+
+    private Product aProduct(String name, String description) {
+        Product product = new Product();
+
+        product.setName(name);
+        product.setDescription(description);
+        product.setPrice(BigDecimal.TEN);
+        product.setQuantity(5);
+
+        return product;
+    }
+}
@@ -0,0 +1,100 @@
+package com.store.management.tool.service;
+
+import com.store.management.tool.config.CacheConfig;
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.CacheManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+class ProductServiceCacheTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @SpyBean
+    private ProductRepository productRepository;
+
+    @Test
+    void testGetById_CachedUntilUpdate() throws Exception {
+        Product product = productService.add(aProduct());
+
+        productService.getById(product.getId());
+        productService.getById(product.getId());
+        verify(productRepository, times(1)).findById(product.getId());
+
+        product.setPrice(BigDecimal.TEN);
+        productService.update(product.getId(), product);
+        clearInvocations(productRepository);
+
+        assertEquals(0, BigDecimal.TEN.compareTo(productService.getById(product.getId()).getPrice()));
+        verify(productRepository, times(1)).findById(product.getId());
+    }
+
+    @Test
+    void testGetById_ConcurrentMissesLoadOnce() throws Exception {
+        Product product = productService.add(aProduct());
+        cacheManager.getCache(CacheConfig.PRODUCTS).clear();
+        clearInvocations(productRepository);
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<Product>> futures = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return productService.getById(product.getId());
+            }));
+        }
+        start.countDown();
+        for (Future<Product> future : futures) {
+            assertEquals(product.getId(), future.get(10, TimeUnit.SECONDS).getId());
+        }
+        executor.shutdown();
+
+        verify(productRepository, times(1)).findById(product.getId());
+    }
+
+    @Test
+    void testAddAndUpdate_WithoutQuantityRejected() throws Exception {
+        Product product = productService.add(aProduct());
+        Product withoutQuantity = aProduct();
+        withoutQuantity.setQuantity(null);
+        clearInvocations(productRepository);
+
+        assertThrows(IllegalArgumentException.class, () -> productService.add(withoutQuantity));
+        assertThrows(IllegalArgumentException.class, () -> productService.update(product.getId(), withoutQuantity));
+
+        verify(productRepository, never()).save(any());
+        assertEquals(product.getQuantity(), productService.getById(product.getId()).getQuantity());
+    }
+
+    private Product aProduct() {
+        Product product = new Product();
+
+        product.setName("product");
+        product.setDescription("description");
+        product.setPrice(BigDecimal.ONE);
+        product.setQuantity(15);
+
+        return product;
+    }
+}
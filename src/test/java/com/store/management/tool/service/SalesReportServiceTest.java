@@ -0,0 +1,101 @@
+package com.store.management.tool.service;
+
+import com.store.management.tool.domain.Order;
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.dto.ProductSales;
+import com.store.management.tool.dto.SalesReport;
+import com.store.management.tool.utils.Status;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SalesReportServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2032, 6, 1);
+
+    @Autowired
+    private SalesReportService salesReportService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void testGetSales_RollupsFollowAddUpdateAndDelete() throws Exception {
+        Product pen = productService.add(aProduct("pen", "1.50"));
+        Product book = productService.add(aProduct("book", "12.00"));
+
+        orderService.add(anOrder(DAY, orderProduct(pen, 4)));
+        Order moved = orderService.add(anOrder(DAY, orderProduct(pen, 1), orderProduct(book, 1)));
+        Order deleted = orderService.add(anOrder(DAY.plusDays(1), orderProduct(book, 2)));
+
+        orderService.updateOrder(moved.getId(), anOrder(DAY.plusDays(1), orderProduct(book, 3)));
+        orderService.delete(deleted.getId());
+
+        SalesReport report = salesReportService.getSales(DAY, DAY.plusDays(1), 10);
+
+        assertEquals(2, report.getOrders());
+        assertEquals(7, report.getUnits());
+        assertEquals(0, new BigDecimal("42.00").compareTo(report.getRevenue()));
+        assertEquals(2, report.getDays().size());
+        assertEquals(DAY, report.getDays().get(0).getDate());
+        assertEquals(4, report.getDays().get(0).getUnits());
+        assertEquals(DAY.plusDays(1), report.getDays().get(1).getDate());
+        assertEquals(1, report.getDays().get(1).getOrders());
+
+        List<ProductSales> topProducts = report.getTopProducts();
+        assertEquals(2, topProducts.size());
+        assertEquals(book.getId(), topProducts.get(0).getProductId());
+        assertEquals(3, topProducts.get(0).getUnits());
+        assertEquals(0, new BigDecimal("36.00").compareTo(topProducts.get(0).getRevenue()));
+        assertEquals(pen.getId(), topProducts.get(1).getProductId());
+        assertEquals(4, topProducts.get(1).getUnits());
+        assertEquals(0, new BigDecimal("6.00").compareTo(topProducts.get(1).getRevenue()));
+    }
+
+    @Test
+    void testGetSales_InvalidRange() {
+        assertThrows(IllegalArgumentException.class, () -> salesReportService.getSales(DAY, DAY.minusDays(1), 10));
+    }
+
+    private Product aProduct(String name, String price) {
+        Product product = new Product();
+
+        product.setName(name);
+        product.setDescription("description");
+        product.setPrice(new BigDecimal(price));
+        product.setQuantity(100);
+
+        return product;
+    }
+
+    private Product orderProduct(Product product, int quantity) {
+        Product orderProduct = new Product();
+
+        orderProduct.setId(product.getId());
+        orderProduct.setQuantity(quantity);
+
+        return orderProduct;
+    }
+
+    private Order anOrder(LocalDate orderDate, Product... products) {
+        Order order = new Order();
+
+        order.setIdUser(1L);
+        order.setOrderDate(orderDate);
+        order.setStatus(Status.NEW);
+        order.setProducts(Set.of(products));
+
+        return order;
+    }
+}
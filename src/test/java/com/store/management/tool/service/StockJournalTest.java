@@ -0,0 +1,123 @@
+package com.store.management.tool.service;
+
+import com.store.management.tool.domain.Order;
+import com.store.management.tool.domain.Product;
+import com.store.management.tool.exception.ServiceUnavailableException;
+import com.store.management.tool.repository.StockMovementRepository;
+import com.store.management.tool.utils.Status;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(properties = "store.stock.journal.flush-timeout=1s")
+class StockJournalTest {
+
+    @Autowired
+    private StockJournal stockJournal;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @SpyBean
+    private StockMovementRepository stockMovementRepository;
+
+    @Test
+    void testGetStockAt_ReplaysMovements() throws Exception {
+        Product product = productService.add(aProduct(10));
+        stockJournal.flush();
+        Instant beforeOrder = Instant.now();
+        Thread.sleep(5);
+
+        orderService.add(anOrder(product, 3));
+        Product restocked = aProduct(20);
+        productService.update(product.getId(), restocked);
+
+        assertEquals(10, stockJournal.getStockAt(product.getId(), beforeOrder).getQuantity());
+        assertEquals(20, stockJournal.getStockAt(product.getId(), Instant.now()).getQuantity());
+    }
+
+    @Test
+    void testRejectedOrder_NotJournalled() throws Exception {
+        Product product = productService.add(aProduct(2));
+
+        assertThrows(IllegalArgumentException.class, () -> orderService.add(anOrder(product, 5)));
+
+        assertEquals(2, stockJournal.getStockAt(product.getId(), Instant.now()).getQuantity());
+    }
+
+    @Test
+    void testFindDiscrepancies_JournalMatchesStock() throws Exception {
+        Product product = productService.add(aProduct(50));
+        orderService.add(anOrder(product, 4));
+        orderService.addBatch(List.of(anOrder(product, 6), anOrder(product, 100)));
+        Product imported = aProduct(7);
+        imported.setName("imported product");
+        Product reimported = aProduct(8);
+        reimported.setName("imported product");
+        productService.upsert(List.of(imported, reimported));
+
+        assertTrue(stockJournal.findDiscrepancies().isEmpty());
+        assertEquals(40, stockJournal.getStockAt(product.getId(), Instant.now()).getQuantity());
+    }
+
+    @Test
+    void testFlush_StuckWriterAnswersUnavailable() throws Exception {
+        stockJournal.flush();
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            return invocation.callRealMethod();
+        }).when(stockMovementRepository).insert(anyList());
+
+        Product product = productService.add(aProduct(10));
+        try {
+            long start = System.nanoTime();
+            assertThrows(ServiceUnavailableException.class, () -> stockJournal.getStockAt(product.getId(), Instant.now()));
+            assertTrue(System.nanoTime() - start < 5_000_000_000L);
+        } finally {
+            release.countDown();
+        }
+
+        assertEquals(10, stockJournal.getStockAt(product.getId(), Instant.now()).getQuantity());
+    }
+
+    private Product aProduct(int quantity) {
+        Product product = new Product();
+
+        product.setName("journalled product");
+        product.setDescription("description");
+        product.setPrice(BigDecimal.ONE);
+        product.setQuantity(quantity);
+
+        return product;
+    }
+
+    private Order anOrder(Product product, int quantity) {
+        Order order = new Order();
+
+        order.setIdUser(1L);
+        order.setOrderDate(LocalDate.of(2024, 3, 24));
+        order.setStatus(Status.NEW);
+        Product line = new Product();
+        line.setId(product.getId());
+        line.setQuantity(quantity);
+        order.setProducts(Set.of(line));
+
+        return order;
+    }
+}
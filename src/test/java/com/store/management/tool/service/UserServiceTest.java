@@ -2,6 +2,7 @@ package com.store.management.tool.service;
 
 import com.store.management.tool.domain.User;
 import com.store.management.tool.domain.UserRole;
+import com.store.management.tool.dto.CursorPage;
 import com.store.management.tool.exception.DuplicateResourceException;
 import com.store.management.tool.exception.ResourceNotFoundException;
 import com.store.management.tool.repository.UserRepository;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.util.Collections;
 import java.util.List;
@@ -27,17 +29,22 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
     @Test
     void testAddUser_Success() {
         User user = anUser();
 
         when(userRepository.existsByEmail(user.getEmail())).thenReturn(false);
+        when(passwordHashingService.hash("123")).thenReturn("hashed");
         when(userRepository.save(user)).thenReturn(user);
 
         User addedUser = userService.add(user);
 
         assertNotNull(addedUser);
         assertEquals(user.getEmail(), addedUser.getEmail());
+        assertEquals("hashed", addedUser.getPassword());
         verify(userRepository, times(1)).existsByEmail(user.getEmail());
         verify(userRepository, times(1)).save(user);
     }
@@ -58,13 +65,28 @@ class UserServiceTest {
     void testGetAllUsers() {
         List<User> users = Collections.singletonList(anUser());
 
-        when(userRepository.findAll()).thenReturn(users);
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(11))).thenReturn(users);
+
+        CursorPage<User> retrievedUsers = userService.getAll(null, 10);
+
+        assertEquals(users.size(), retrievedUsers.getItems().size());
+        assertEquals(users.get(0).getEmail(), retrievedUsers.getItems().get(0).getEmail());
+        assertNull(retrievedUsers.getNext());
+        verify(userRepository, times(1)).findByIdGreaterThanOrderByIdAsc(0L, Limit.of(11));
+    }
+
+    @Test
+    void testGetAllUsers_NextCursor() {
+        User first = anUser();
+        User second = anUser();
+        second.setId(2L);
+
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2))).thenReturn(List.of(first, second));
 
-        List<User> retrievedUsers = userService.getAll();
+        CursorPage<User> retrievedUsers = userService.getAll(null, 1);
 
-        assertEquals(users.size(), retrievedUsers.size());
-        assertEquals(users.get(0).getEmail(), retrievedUsers.get(0).getEmail());
-        verify(userRepository, times(1)).findAll();
+        assertEquals(1, retrievedUsers.getItems().size());
+        assertEquals(first.getId(), retrievedUsers.getNext());
     }
 
     @Test
@@ -100,6 +122,7 @@ class UserServiceTest {
         updatedUserDetails.setPhoneNumber("0987654321");
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
+        when(passwordHashingService.hashIfChanged("123", "123")).thenReturn("123");
         when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         User updatedUser = userService.update(userId, updatedUserDetails);
@@ -107,6 +130,7 @@ class UserServiceTest {
         assertNotNull(updatedUser);
         assertEquals(updatedUserDetails.getEmail(), updatedUser.getEmail());
         assertEquals(updatedUserDetails.getPhoneNumber(), updatedUser.getPhoneNumber());
+        assertEquals("123", updatedUser.getPassword());
 
         verify(userRepository, times(1)).findById(userId);
         verify(userRepository, times(1)).save(any(User.class));